@@ -0,0 +1,83 @@
+package org.example.baitaptuan6.bench;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.baitaptuan6.Baitaptuan6Application;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// The application context every benchmark runs against, one per fork.
+//
+// The database is the one given by -Dbench.jdbc-url (with bench.jdbc-username and
+// bench.jdbc-password, default postgres/postgres), or else an embedded PostgreSQL started
+// in a temporary directory. The context starts with the dataset profile, so an empty
+// database is filled by DatasetGenerator (`videos` rows, -p videos=..., from -p seed=...)
+// before the in-memory indexes, rankings and counters are built, as they would be in
+// production. A database that already has data is used as it is.
+// Application properties can be overridden per run with -jvmArgsAppend -Dapp.xxx=...
+@State(Scope.Benchmark)
+public class BenchContext {
+
+    @Param("100000")
+    public int videos;
+
+    @Param("42")
+    public long seed;
+
+    private EmbeddedPostgres embedded;
+    private ConfigurableApplicationContext context;
+    private BenchDataset dataset;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        String url = System.getProperty("bench.jdbc-url");
+        String username = System.getProperty("bench.jdbc-username", "postgres");
+        String password = System.getProperty("bench.jdbc-password", "postgres");
+        if (url == null) {
+            embedded = EmbeddedPostgres.builder().start();
+            url = embedded.getJdbcUrl("postgres", "postgres");
+        }
+        url += (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+
+        // Command line arguments, they take precedence over application.properties
+        context = new SpringApplicationBuilder(Baitaptuan6Application.class)
+            .web(WebApplicationType.NONE)
+            .profiles("dataset")
+            .run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--app.dataset.videos=" + videos,
+                "--app.dataset.users=" + Math.max(100, videos / 100),
+                "--app.dataset.categories=" + Math.max(20, videos / 5000),
+                "--app.dataset.seed=" + seed,
+                "--logging.level.root=WARN",
+                "--logging.level.org.example.baitaptuan6.dataset=INFO");
+        dataset = BenchDataset.load(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public BenchDataset dataset() {
+        return dataset;
+    }
+}
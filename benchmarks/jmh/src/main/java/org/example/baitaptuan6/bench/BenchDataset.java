@@ -0,0 +1,20 @@
+package org.example.baitaptuan6.bench;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// What the benchmarks pick ids and pages from, read once the dataset is in place
+public record BenchDataset(long minVideoId, long maxVideoId, long activeVideos,
+                           long topCategoryId, long topCategoryActiveVideos) {
+
+    // Single words of the generated titles, for keyword searches
+    static final String[] KEYWORDS = {"phở", "bóng", "nhạc", "hướng", "lịch", "phim", "điện", "biển"};
+
+    static BenchDataset load(JdbcTemplate jdbcTemplate) {
+        Long minVideoId = jdbcTemplate.queryForObject("SELECT min(id) FROM videos", Long.class);
+        Long maxVideoId = jdbcTemplate.queryForObject("SELECT max(id) FROM videos", Long.class);
+        Long activeVideos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM videos WHERE is_active", Long.class);
+        return jdbcTemplate.queryForObject(
+            "SELECT category_id, COUNT(*) FROM videos WHERE is_active GROUP BY category_id ORDER BY 2 DESC LIMIT 1",
+            (rs, row) -> new BenchDataset(minVideoId, maxVideoId, activeVideos, rs.getLong(1), rs.getLong(2)));
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.baitaptuan6.bench;
+
+import org.example.baitaptuan6.service.VideoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// View and like counters under contention: 8 threads spread over `hotVideos` ids, 1 being
+// the worst case where every update waits for the same row lock. Views go through the
+// buffer unless run with -jvmArgsAppend -Dapp.views.buffer.enabled=false.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class CounterBenchmark {
+
+    @Param({"1", "1000"})
+    public int hotVideos;
+
+    private VideoService videoService;
+    private long firstVideoId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchContext context) {
+        videoService = context.bean(VideoService.class);
+        firstVideoId = context.dataset().minVideoId();
+    }
+
+    @Benchmark
+    public void incrementViews() {
+        videoService.incrementViews(pick());
+    }
+
+    @Benchmark
+    public void incrementLikes() {
+        videoService.incrementLikes(pick());
+    }
+
+    private long pick() {
+        return firstVideoId + ThreadLocalRandom.current().nextInt(hotVideos);
+    }
+}
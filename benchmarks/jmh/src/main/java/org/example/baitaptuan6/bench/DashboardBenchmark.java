@@ -0,0 +1,57 @@
+package org.example.baitaptuan6.bench;
+
+import org.example.baitaptuan6.service.ActiveCounters;
+import org.example.baitaptuan6.service.CategoryService;
+import org.example.baitaptuan6.service.UserService;
+import org.example.baitaptuan6.service.VideoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// The three dashboard totals, from the in-memory counters the pages use and from COUNT queries.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DashboardBenchmark {
+
+    private ActiveCounters activeCounters;
+    private VideoService videoService;
+    private UserService userService;
+    private CategoryService categoryService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchContext context) {
+        activeCounters = context.bean(ActiveCounters.class);
+        videoService = context.bean(VideoService.class);
+        userService = context.bean(UserService.class);
+        categoryService = context.bean(CategoryService.class);
+    }
+
+    @Benchmark
+    public void counters(Blackhole blackhole) {
+        blackhole.consume(activeCounters.get(ActiveCounters.Kind.VIDEOS));
+        blackhole.consume(activeCounters.get(ActiveCounters.Kind.USERS));
+        blackhole.consume(activeCounters.get(ActiveCounters.Kind.CATEGORIES));
+    }
+
+    @Benchmark
+    public void countQueries(Blackhole blackhole) {
+        blackhole.consume(videoService.countActiveVideos());
+        blackhole.consume(userService.countActiveUsers());
+        blackhole.consume(categoryService.countActiveCategories());
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.baitaptuan6.bench;
+
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// User creation end to end, next to the BCrypt hash alone at a few cost factors,
+// to see how much of createUser is the password hash.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserCreateBenchmark {
+
+    @Param({"10", "12"})
+    public int bcryptCost;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private UserService userService;
+    private BCryptPasswordEncoder encoder;
+    private String prefix;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchContext context) {
+        userService = context.bean(UserService.class);
+        encoder = new BCryptPasswordEncoder(bcryptCost);
+        // Unique per trial so runs against a reused database do not collide
+        prefix = "b" + Long.toString(System.currentTimeMillis(), 36) + bcryptCost + "_";
+    }
+
+    // Uses the application's encoder, so it only changes with bcryptCost when the bean does
+    @Benchmark
+    public User createUser() {
+        long n = sequence.incrementAndGet();
+        User user = new User(prefix + n, prefix + n + "@example.com", "password", "Bench User " + n, User.UserRole.USER);
+        return userService.createUser(user);
+    }
+
+    @Benchmark
+    public String encodePassword() {
+        return encoder.encode("password");
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.baitaptuan6.bench;
+
+import org.example.baitaptuan6.dto.VideoListItem;
+import org.example.baitaptuan6.service.VideoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+// Read paths behind the video list: search and paged listings, at the first page
+// and at the last one (the deep OFFSET case).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VideoQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"shallow", "deep"})
+    public String depth;
+
+    @Param({"title", "createdAt"})
+    public String sortBy;
+
+    private VideoService videoService;
+    private long categoryId;
+    private int listPage;
+    private int categoryPage;
+    private final int[] searchPages = new int[BenchDataset.KEYWORDS.length];
+    private int next;
+
+    // Deep pages are the last full page of each result; the category is the largest one
+    @Setup(Level.Trial)
+    public void setUp(BenchContext context) {
+        videoService = context.bean(VideoService.class);
+        BenchDataset dataset = context.dataset();
+        categoryId = dataset.topCategoryId();
+        if ("deep".equals(depth)) {
+            listPage = lastPage(dataset.activeVideos());
+            categoryPage = lastPage(dataset.topCategoryActiveVideos());
+            for (int i = 0; i < searchPages.length; i++) {
+                searchPages[i] = lastPage(videoService.searchVideos(BenchDataset.KEYWORDS[i], 0, PAGE_SIZE, sortBy, "asc")
+                    .getTotalElements());
+            }
+        }
+    }
+
+    private static int lastPage(long rows) {
+        return (int) Math.max(0, rows / PAGE_SIZE - 1);
+    }
+
+    @Benchmark
+    public Page<VideoListItem> listActive() {
+        return videoService.getAllActiveVideos(listPage, PAGE_SIZE, sortBy, "asc");
+    }
+
+    @Benchmark
+    public Page<VideoListItem> listByCategory() {
+        return videoService.getVideosByCategory(categoryId, categoryPage, PAGE_SIZE, sortBy, "asc");
+    }
+
+    @Benchmark
+    public Page<VideoListItem> search() {
+        int i = next++ % BenchDataset.KEYWORDS.length;
+        return videoService.searchVideos(BenchDataset.KEYWORDS[i], searchPages[i], PAGE_SIZE, sortBy, "asc");
+    }
+}
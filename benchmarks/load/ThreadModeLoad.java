@@ -0,0 +1,114 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop HTTP load against a running instance: `clients` concurrent callers each send
+// requests back to back for the warmup and then the measured duration, picking from a mix
+// of list, search, detail and dashboard pages. Prints throughput and latency percentiles
+// of the measured phase only, one line per run so runs can be compared side by side.
+//
+//   java benchmarks/load/ThreadModeLoad.java [baseUrl] [clients] [seconds] [warmupSeconds] [label]
+//
+// Single-file program (java 11+ launches it from source), no build needed.
+public class ThreadModeLoad {
+
+    private static final String[] KEYWORDS = {"music", "game", "news", "tutorial", "live", "review"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        String label = args.length > 4 ? args[4] : "run";
+        long maxVideoId = Long.getLong("maxVideoId", 100_000);
+        int maxPage = Integer.getInteger("maxPage", 1_000);
+
+        HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perClient = new ArrayList<>();
+
+        ExecutorService callers = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(callers.submit(() -> {
+                long[] latencies = new long[1 << 12];
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (true) {
+                    long start = System.nanoTime();
+                    if (start >= end) {
+                        break;
+                    }
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + pick(random, maxVideoId, maxPage)))
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+                    boolean ok;
+                    try {
+                        ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    if (start < warmupEnd) {
+                        continue;
+                    }
+                    if (!ok) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = elapsed;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        callers.shutdown();
+
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            System.out.println(label + ": no requests completed");
+            return;
+        }
+        System.out.printf("%s: clients=%d requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p90=%.1f ms p99=%.1f ms max=%.1f ms%n",
+            label, clients, all.length, errors.get(), all.length / (double) seconds,
+            millis(all, 0.50), millis(all, 0.90), millis(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    // Request mix: mostly list pages, then search, detail and the dashboard
+    private static String pick(ThreadLocalRandom random, long maxVideoId, int maxPage) {
+        int roll = random.nextInt(100);
+        if (roll < 40) {
+            return "/admin/videos?page=" + random.nextInt(maxPage) + "&size=20";
+        } else if (roll < 65) {
+            return "/admin/videos?keyword=" + KEYWORDS[random.nextInt(KEYWORDS.length)];
+        } else if (roll < 90) {
+            return "/admin/videos/" + (1 + random.nextLong(maxVideoId));
+        }
+        return "/admin";
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
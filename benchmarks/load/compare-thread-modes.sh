@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Starts the application in platform-thread mode and then in the virtual-threads profile
+# against the same database, runs ThreadModeLoad against each, and prints both result lines.
+# Needs Java 21 and the database from docker-compose.yml.
+#
+#   benchmarks/load/compare-thread-modes.sh [clients] [seconds] [warmupSeconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+CLIENTS=${1:-200}
+SECONDS_MEASURED=${2:-60}
+WARMUP=${3:-15}
+PORT=${PORT:-8080}
+JAR=target/baitaptuan6-0.0.1-SNAPSHOT-exec.jar
+
+./mvnw -B -q -Pjava21 -DskipTests package
+
+run() {
+    local label=$1
+    shift
+    java -jar "$JAR" --server.port="$PORT" "$@" > "target/load-$label.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    until curl -sf -o /dev/null "http://localhost:$PORT/admin"; do
+        kill -0 $pid 2>/dev/null || { echo "$label: application failed to start, see target/load-$label.log"; exit 1; }
+        sleep 1
+    done
+    java benchmarks/load/ThreadModeLoad.java "http://localhost:$PORT" "$CLIENTS" "$SECONDS_MEASURED" "$WARMUP" "$label"
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform
+run virtual --spring.profiles.active=virtual-threads
@@ -0,0 +1,194 @@
+package org.example.baitaptuan6.cascade;
+
+import org.example.baitaptuan6.entity.CascadeJob;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.repository.CascadeJobRepository;
+import org.example.baitaptuan6.service.ChangeStamps;
+import org.example.baitaptuan6.service.EntityCache;
+import org.example.baitaptuan6.service.VideoBulkOperations;
+import org.example.baitaptuan6.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+// Propagates a category or user deactivation, reactivation or deletion to its videos.
+//
+// The services change the parent row and submit a job in the same transaction. A small
+// fan-out (app.cascade.inline-threshold) runs right there, on the caller's connection, and
+// commits or rolls back with the parent change; a larger one starts on the task executor
+// after the commit and reports through the job row. Videos are changed
+// with chunked set-based statements (VideoBulkOperations) and progress is recorded per chunk.
+// Every chunk re-checks the parent's current state, so a job is safe to run again: jobs
+// left pending or running by a shutdown are resumed on startup, failed ones can be retried.
+// Background jobs for the same parent run one at a time, in submission order.
+@Component
+public class CascadeEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeEngine.class);
+
+    private final ConcurrentHashMap<String, ReentrantLock> parentLocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CascadeJobRepository cascadeJobRepository;
+
+    @Autowired
+    private VideoBulkOperations videoBulkOperations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private ChangeStamps changeStamps;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.cascade.inline-threshold:1000}")
+    private long inlineThreshold;
+
+    // Record a cascade for a parent changed in the current transaction: small ones are done
+    // before it commits, failures roll the parent change back; larger ones run after the commit
+    public CascadeJob submit(CascadeJob.Target target, Long targetId, CascadeJob.Action action) {
+        Long total = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM videos WHERE " + column(target) + " = ?", Long.class, targetId);
+        boolean background = total != null && total > inlineThreshold;
+        CascadeJob job = cascadeJobRepository.save(new CascadeJob(target, targetId, action, total != null ? total : 0L, background));
+        if (!background) {
+            // The chunks join the caller's transaction and check the parent with SQL, so the
+            // parent change is flushed first and the managed job is updated directly
+            cascadeJobRepository.flush();
+            long start = System.currentTimeMillis();
+            job.setProcessed(execute(job, delta -> { }));
+            job.setStatus(CascadeJob.Status.DONE);
+            log.info("Cascade job {} ({} {} {}) changed {} videos inline in {} ms", job.getId(), action,
+                target, targetId, job.getProcessed(), System.currentTimeMillis() - start);
+            return job;
+        }
+        Long jobId = job.getId();
+        AfterCommit.run(() -> taskExecutor.execute(() -> run(jobId)));
+        return job;
+    }
+
+    // Run a failed job again in the background
+    public void retry(Long jobId) {
+        CascadeJob job = cascadeJobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy tác vụ với ID: " + jobId));
+        if (job.getStatus() != CascadeJob.Status.FAILED) {
+            throw new RuntimeException("Chỉ chạy lại được tác vụ bị lỗi");
+        }
+        cascadeJobRepository.updateStatus(jobId, CascadeJob.Status.PENDING, null, LocalDateTime.now());
+        taskExecutor.execute(() -> run(jobId));
+    }
+
+    public List<CascadeJob> getRecentJobs(int limit) {
+        return cascadeJobRepository.findAllByOrderByIdDesc(PageRequest.of(0, limit));
+    }
+
+    public Optional<CascadeJob> getJob(Long id) {
+        return cascadeJobRepository.findById(id);
+    }
+
+    // Resume jobs interrupted by a shutdown, one after another in creation order
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        List<CascadeJob> unfinished = cascadeJobRepository.findByStatusInOrderByIdAsc(
+            List.of(CascadeJob.Status.PENDING, CascadeJob.Status.RUNNING));
+        if (unfinished.isEmpty()) {
+            return;
+        }
+        log.info("Resuming {} unfinished cascade jobs", unfinished.size());
+        taskExecutor.execute(() -> unfinished.forEach(job -> run(job.getId())));
+    }
+
+    void run(Long jobId) {
+        CascadeJob job = cascadeJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() == CascadeJob.Status.DONE) {
+            return;
+        }
+        ReentrantLock lock = parentLocks.computeIfAbsent(job.getTarget() + ":" + job.getTargetId(), key -> new ReentrantLock(true));
+        lock.lock();
+        try {
+            cascadeJobRepository.updateStatus(jobId, CascadeJob.Status.RUNNING, null, LocalDateTime.now());
+            long start = System.currentTimeMillis();
+            long changed = execute(job, delta -> progress(jobId, delta));
+            cascadeJobRepository.updateStatus(jobId, CascadeJob.Status.DONE, null, LocalDateTime.now());
+            log.info("Cascade job {} ({} {} {}) changed {} videos in {} ms", jobId, job.getAction(),
+                job.getTarget(), job.getTargetId(), changed, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Cascade job {} ({} {} {}) failed", jobId, job.getAction(), job.getTarget(), job.getTargetId(), e);
+            String message = String.valueOf(e.getMessage());
+            cascadeJobRepository.updateStatus(jobId, CascadeJob.Status.FAILED,
+                message.length() > 1000 ? message.substring(0, 1000) : message, LocalDateTime.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long execute(CascadeJob job, LongConsumer progress) {
+        String table = table(job.getTarget());
+        String column = column(job.getTarget());
+        Long id = job.getTargetId();
+        return switch (job.getAction()) {
+            // Only while the parent is still inactive, a later reactivation wins
+            case DEACTIVATE -> videoBulkOperations.setActiveByCascade(false,
+                column + " = ? AND EXISTS (SELECT 1 FROM " + table + " p WHERE p.id = ? AND NOT p.is_active)",
+                new Object[]{id, id}, progress);
+            // Videos hidden by a cascade whose category and user are both active again
+            case ACTIVATE -> videoBulkOperations.setActiveByCascade(true,
+                column + " = ? AND deactivated_by_cascade"
+                    + " AND EXISTS (SELECT 1 FROM categories c WHERE c.id = category_id AND c.is_active)"
+                    + " AND EXISTS (SELECT 1 FROM users u WHERE u.id = user_id AND u.is_active)",
+                new Object[]{id}, progress);
+            case DELETE -> {
+                long deleted = videoBulkOperations.delete(column + " = ?", new Object[]{id}, progress);
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("DELETE FROM " + table + " WHERE id = ?", id);
+                    entityCache.evict(entityType(job.getTarget()), List.of(id));
+                    changeStamps.touch(job.getTarget() == CascadeJob.Target.CATEGORY
+                        ? ChangeStamps.Table.CATEGORIES : ChangeStamps.Table.USERS);
+                });
+                yield deleted;
+            }
+        };
+    }
+
+    private void progress(Long jobId, long delta) {
+        cascadeJobRepository.addProgress(jobId, delta, LocalDateTime.now());
+    }
+
+    private static String table(CascadeJob.Target target) {
+        return target == CascadeJob.Target.CATEGORY ? "categories" : "users";
+    }
+
+    private static Class<?> entityType(CascadeJob.Target target) {
+        return target == CascadeJob.Target.CATEGORY ? Category.class : User.class;
+    }
+
+    private static String column(CascadeJob.Target target) {
+        return target == CascadeJob.Target.CATEGORY ? "category_id" : "user_id";
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.baitaptuan6.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.baitaptuan6.datasource.ConnectionLimitingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+// Puts the application DataSource behind a ConnectionLimitingDataSource (app.datasource.limit.*).
+// The limit defaults to the Hikari pool size, so waiting moves from the pool to the semaphore.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.limit.enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionLimitConfig.class);
+
+    @Bean
+    static BeanPostProcessor connectionLimitPostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        int configuredLimit = binder.bind("app.datasource.limit.permits", Integer.class).orElse(0);
+        Duration acquireTimeout = binder.bind("app.datasource.limit.acquire-timeout", Duration.class)
+            .orElse(Duration.ofSeconds(30));
+        // Spring Boot ignores spring.threads.virtual.enabled below Java 21
+        if (binder.bind("spring.threads.virtual.enabled", Boolean.class).orElse(false)
+                && Runtime.version().feature() < 21) {
+            log.warn("Virtual threads need Java 21 (running {}), requests stay on platform threads",
+                Runtime.version());
+        }
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isWrapperFor(dataSource, ConnectionLimitingDataSource.class)) {
+                    return bean;
+                }
+                int limit = configuredLimit > 0 ? configuredLimit : poolSize(dataSource);
+                log.info("Limiting DataSource '{}' to {} concurrent connections (acquire timeout {})",
+                    beanName, limit, acquireTimeout);
+                return new ConnectionLimitingDataSource(dataSource, limit, acquireTimeout);
+            }
+        };
+    }
+
+    // The Hikari pool may already be wrapped by another DataSource decorator
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return isWrapperFor(dataSource, HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() : 10;
+        } catch (SQLException e) {
+            return 10;
+        }
+    }
+
+    private static boolean isWrapperFor(DataSource dataSource, Class<?> type) {
+        try {
+            return dataSource.isWrapperFor(type);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
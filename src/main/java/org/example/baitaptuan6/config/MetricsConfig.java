@@ -0,0 +1,69 @@
+package org.example.baitaptuan6.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.baitaptuan6.metrics.InstrumentedDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Puts the application DataSource behind an InstrumentedDataSource (app.metrics.jdbc.*),
+// which feeds the per-request statement counts and the slow statement log.
+@Configuration
+@ConditionalOnProperty(name = "app.metrics.jdbc.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    static BeanPostProcessor instrumentedDataSourcePostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        long slowThresholdMs = binder.bind("app.metrics.jdbc.slow-threshold-ms", Long.class).orElse(200L);
+        double sampleRate = binder.bind("app.metrics.jdbc.slow-sample-rate", Double.class).orElse(1.0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !isInstrumented(dataSource)) {
+                    return new InstrumentedDataSource(dataSource, slowThresholdMs, sampleRate);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder jdbcStatementMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!isInstrumented(dataSource)) {
+                return;
+            }
+            InstrumentedDataSource instrumented = unwrap(dataSource);
+            FunctionCounter.builder("app.jdbc.statements", instrumented, InstrumentedDataSource::getStatements)
+                .description("JDBC statements executed")
+                .register(registry);
+            FunctionCounter.builder("app.jdbc.slow-statements", instrumented, InstrumentedDataSource::getSlowStatements)
+                .description("JDBC statements at or above app.metrics.jdbc.slow-threshold-ms")
+                .register(registry);
+        };
+    }
+
+    private static boolean isInstrumented(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(InstrumentedDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static InstrumentedDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(InstrumentedDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
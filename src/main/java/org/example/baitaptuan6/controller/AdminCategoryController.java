@@ -1,8 +1,17 @@
 package org.example.baitaptuan6.controller;
 
+import org.example.baitaptuan6.dto.VideoListItem;
+import org.example.baitaptuan6.entity.CascadeJob;
 import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.paging.PaginationMode;
+import org.example.baitaptuan6.search.FullTextQuery;
 import org.example.baitaptuan6.service.CategoryService;
+import org.example.baitaptuan6.service.ChangeStamps;
+import org.example.baitaptuan6.service.VideoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +20,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
@@ -23,6 +33,15 @@ public class AdminCategoryController {
     @Autowired
     private CategoryService categoryService;
     
+    @Autowired
+    private VideoService videoService;
+    
+    @Autowired
+    private ChangeStamps changeStamps;
+    
+    @Value("${app.pagination.mode:offset}")
+    private PaginationMode paginationMode;
+    
     @GetMapping
     public String listCategories(
             @RequestParam(defaultValue = "0") int page,
@@ -30,11 +49,26 @@ public class AdminCategoryController {
             @RequestParam(defaultValue = "name") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
             @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest request,
             Model model) {
         
+        size = PageSizes.clamp(size);
+        if (ConditionalGet.notModified(request, changeStamps.etag(ChangeStamps.Table.CATEGORIES))) {
+            return null;
+        }
+        
         Page<Category> categories;
+        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
+        // Relevance only orders search results
+        if (!hasKeyword && FullTextQuery.RELEVANCE.equals(sortBy)) {
+            sortBy = "name";
+        }
+        if (paginationMode == PaginationMode.KEYSET && !hasKeyword) {
+            return listCategoriesByCursor(cursor, size, sortBy, sortDir, model);
+        }
         
-        if (keyword != null && !keyword.trim().isEmpty()) {
+        if (hasKeyword) {
             categories = categoryService.searchCategories(keyword, page, size, sortBy, sortDir);
             model.addAttribute("keyword", keyword);
         } else {
@@ -45,6 +79,24 @@ public class AdminCategoryController {
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", categories.getTotalPages());
         model.addAttribute("totalItems", categories.getTotalElements());
+        model.addAttribute("totalKind", ApproximatePage.totalKind(categories));
+        model.addAttribute("size", size);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDir", sortDir);
+        model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
+        
+        return "admin/categories/list";
+    }
+    
+    // Keyset variant of the list page, pages are addressed by cursor instead of number
+    private String listCategoriesByCursor(String cursor, int size, String sortBy, String sortDir, Model model) {
+        KeysetPage<Category> categories = categoryService.scrollActiveCategories(cursor, size, sortBy, sortDir);
+        
+        model.addAttribute("categories", categories);
+        model.addAttribute("keyset", true);
+        model.addAttribute("nextCursor", categories.getNextCursor());
+        model.addAttribute("previousCursor", categories.getPreviousCursor());
+        model.addAttribute("size", size);
         model.addAttribute("sortBy", sortBy);
         model.addAttribute("sortDir", sortDir);
         model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
@@ -108,6 +160,7 @@ public class AdminCategoryController {
         Category category = categoryService.getActiveCategoryById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
         model.addAttribute("category", category);
+        model.addAttribute("stats", videoService.getCategoryStats(id));
         return "admin/categories/delete";
     }
     
@@ -117,8 +170,10 @@ public class AdminCategoryController {
                                 RedirectAttributes redirectAttributes) {
         try {
             if (hardDelete) {
-                categoryService.deleteCategory(id);
-                redirectAttributes.addFlashAttribute("successMessage", "Xóa danh mục vĩnh viễn thành công!");
+                CascadeJob job = categoryService.deleteCategory(id);
+                redirectAttributes.addFlashAttribute("successMessage", job.getStatus() == CascadeJob.Status.DONE
+                    ? "Xóa danh mục vĩnh viễn thành công!"
+                    : "Đang xóa danh mục cùng " + job.getTotal() + " video trong nền, xem tiến độ ở trang Tác Vụ Nền");
             } else {
                 categoryService.deactivateCategory(id);
                 redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa danh mục thành công!");
@@ -130,18 +185,32 @@ public class AdminCategoryController {
         }
     }
     
+    // Bulk action on the checked rows of the list page
+    @PostMapping("/bulk")
+    public String bulkAction(@RequestParam String action,
+                             @RequestParam(required = false) List<Long> ids,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            long affected = switch (action) {
+                case "activate" -> categoryService.setCategoriesActive(ids, true);
+                case "deactivate" -> categoryService.setCategoriesActive(ids, false);
+                case "delete" -> categoryService.deleteCategories(ids);
+                default -> throw new RuntimeException("Thao tác không hợp lệ: " + action);
+            };
+            redirectAttributes.addFlashAttribute("successMessage", "Đã áp dụng cho " + affected + " danh mục");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/admin/categories";
+    }
+    
     @PostMapping("/{id}/toggle")
     public String toggleCategory(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            Category category = categoryService.getCategoryById(id)
-                .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
-            
-            if (category.getIsActive()) {
-                categoryService.deactivateCategory(id);
-                redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa danh mục thành công!");
-            } else {
-                categoryService.activateCategory(id);
+            if (categoryService.toggleCategoryActive(id)) {
                 redirectAttributes.addFlashAttribute("successMessage", "Kích hoạt danh mục thành công!");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa danh mục thành công!");
             }
             return "redirect:/admin/categories";
         } catch (RuntimeException e) {
@@ -151,10 +220,27 @@ public class AdminCategoryController {
     }
     
     @GetMapping("/{id}")
-    public String viewCategory(@PathVariable Long id, Model model) {
+    public String viewCategory(@PathVariable Long id,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "10") int size,
+                              ServletWebRequest request,
+                              Model model) {
+        size = PageSizes.clamp(size);
         Category category = categoryService.getActiveCategoryById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
+        // The category comes from the second-level cache, its videos are listed with their users
+        if (ConditionalGet.notModified(request, changeStamps.etag(category.getUpdatedAt(),
+                ChangeStamps.Table.VIDEOS, ChangeStamps.Table.USERS))) {
+            return null;
+        }
+        Page<VideoListItem> videos = videoService.getVideosByCategory(id, page, size, "createdAt", "desc");
+        
         model.addAttribute("category", category);
+        model.addAttribute("stats", videoService.getCategoryStats(id));
+        model.addAttribute("videos", videos);
+        model.addAttribute("currentPage", page);
+        model.addAttribute("totalPages", videos.getTotalPages());
+        model.addAttribute("size", size);
         return "admin/categories/detail";
     }
 }
@@ -0,0 +1,60 @@
+package org.example.baitaptuan6.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.baitaptuan6.exporter.CatalogExporter;
+import org.example.baitaptuan6.exporter.ExportDataset;
+import org.example.baitaptuan6.exporter.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+// Full table dumps (videos, users, categories) as CSV or NDJSON, optionally gzipped,
+// streamed straight to the response as rows are read
+@Controller
+@RequestMapping("/admin/export")
+public class AdminExportController {
+    
+    @Autowired
+    private CatalogExporter catalogExporter;
+    
+    @GetMapping("/{dataset}")
+    public void export(@PathVariable String dataset,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam(defaultValue = "false") boolean gzip,
+                       @RequestParam(defaultValue = "false") boolean activeOnly,
+                       HttpServletResponse response) throws IOException {
+        ExportDataset exportDataset;
+        ExportFormat exportFormat;
+        try {
+            exportDataset = ExportDataset.fromName(dataset);
+            exportFormat = ExportFormat.fromName(format);
+        } catch (RuntimeException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        
+        String filename = exportDataset.getTable() + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+            + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        
+        OutputStream output = response.getOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream compressed = new GZIPOutputStream(output, 1 << 16)) {
+                catalogExporter.export(exportDataset, exportFormat, activeOnly, compressed);
+            }
+        } else {
+            catalogExporter.export(exportDataset, exportFormat, activeOnly, output);
+        }
+    }
+}
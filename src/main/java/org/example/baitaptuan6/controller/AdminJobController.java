@@ -0,0 +1,45 @@
+package org.example.baitaptuan6.controller;
+
+import org.example.baitaptuan6.cascade.CascadeEngine;
+import org.example.baitaptuan6.entity.CascadeJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.util.List;
+
+// Progress of the cascade jobs that propagate category and user changes to their videos
+@Controller
+@RequestMapping("/admin/jobs")
+public class AdminJobController {
+    
+    private static final int RECENT_JOBS = 50;
+    
+    @Autowired
+    private CascadeEngine cascadeEngine;
+    
+    @GetMapping
+    public String listJobs(Model model) {
+        List<CascadeJob> jobs = cascadeEngine.getRecentJobs(RECENT_JOBS);
+        model.addAttribute("jobs", jobs);
+        model.addAttribute("hasUnfinished", jobs.stream().anyMatch(job ->
+            job.getStatus() == CascadeJob.Status.PENDING || job.getStatus() == CascadeJob.Status.RUNNING));
+        return "admin/jobs/list";
+    }
+    
+    @PostMapping("/{id}/retry")
+    public String retryJob(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        try {
+            cascadeEngine.retry(id);
+            redirectAttributes.addFlashAttribute("successMessage", "Đã chạy lại tác vụ #" + id);
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/admin/jobs";
+    }
+}
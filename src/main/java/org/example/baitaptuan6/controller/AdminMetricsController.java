@@ -0,0 +1,28 @@
+package org.example.baitaptuan6.controller;
+
+import org.example.baitaptuan6.metrics.MetricsReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+// Latency of repository and service methods, statements per request and Hibernate statistics
+// since startup; the raw meters are under /actuator/metrics
+@Controller
+@RequestMapping("/admin/metrics")
+public class AdminMetricsController {
+    
+    @Autowired
+    private MetricsReport metricsReport;
+    
+    @GetMapping
+    public String showMetrics(Model model) {
+        model.addAttribute("repositories", metricsReport.repositoryTimers());
+        model.addAttribute("services", metricsReport.serviceTimers());
+        model.addAttribute("requests", metricsReport.statementsPerRequest());
+        model.addAttribute("hibernate", metricsReport.hibernateStatistics());
+        model.addAttribute("cacheRegions", metricsReport.cacheRegions());
+        return "admin/metrics/index";
+    }
+}
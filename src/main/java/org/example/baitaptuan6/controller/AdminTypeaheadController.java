@@ -0,0 +1,35 @@
+package org.example.baitaptuan6.controller;
+
+import org.example.baitaptuan6.dto.CategoryRef;
+import org.example.baitaptuan6.dto.UserRef;
+import org.example.baitaptuan6.search.TypeaheadIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// JSON suggestions for the category and user pickers
+@RestController
+@RequestMapping("/admin/api/typeahead")
+public class AdminTypeaheadController {
+    
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    
+    // Active categories whose name has a word starting with q
+    @GetMapping("/categories")
+    public List<CategoryRef> suggestCategories(@RequestParam(defaultValue = "") String q,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return typeaheadIndex.searchCategories(q, limit);
+    }
+    
+    // Active users whose username or full name has a word starting with q
+    @GetMapping("/users")
+    public List<UserRef> suggestUsers(@RequestParam(defaultValue = "") String q,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        return typeaheadIndex.searchUsers(q, limit);
+    }
+}
@@ -1,8 +1,15 @@
 package org.example.baitaptuan6.controller;
 
+import org.example.baitaptuan6.entity.CascadeJob;
 import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.paging.PaginationMode;
+import org.example.baitaptuan6.search.FullTextQuery;
+import org.example.baitaptuan6.service.ChangeStamps;
 import org.example.baitaptuan6.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +18,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
@@ -23,6 +31,12 @@ public class AdminUserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ChangeStamps changeStamps;
+    
+    @Value("${app.pagination.mode:offset}")
+    private PaginationMode paginationMode;
+    
     @GetMapping
     public String listUsers(
             @RequestParam(defaultValue = "0") int page,
@@ -31,11 +45,26 @@ public class AdminUserController {
             @RequestParam(defaultValue = "asc") String sortDir,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) User.UserRole role,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest request,
             Model model) {
         
+        size = PageSizes.clamp(size);
+        if (ConditionalGet.notModified(request, changeStamps.etag(ChangeStamps.Table.USERS))) {
+            return null;
+        }
+        
         Page<User> users;
+        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
+        // Relevance only orders search results
+        if (!hasKeyword && FullTextQuery.RELEVANCE.equals(sortBy)) {
+            sortBy = "username";
+        }
+        if (paginationMode == PaginationMode.KEYSET && !hasKeyword) {
+            return listUsersByCursor(cursor, size, sortBy, sortDir, role, model);
+        }
         
-        if (keyword != null && !keyword.trim().isEmpty()) {
+        if (hasKeyword) {
             users = userService.searchUsers(keyword, page, size, sortBy, sortDir);
             model.addAttribute("keyword", keyword);
         } else if (role != null) {
@@ -49,6 +78,29 @@ public class AdminUserController {
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", users.getTotalPages());
         model.addAttribute("totalItems", users.getTotalElements());
+        model.addAttribute("totalKind", ApproximatePage.totalKind(users));
+        model.addAttribute("size", size);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDir", sortDir);
+        model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
+        model.addAttribute("roles", User.UserRole.values());
+        
+        return "admin/users/list";
+    }
+    
+    // Keyset variant of the list page, pages are addressed by cursor instead of number
+    private String listUsersByCursor(String cursor, int size, String sortBy, String sortDir,
+                                     User.UserRole role, Model model) {
+        KeysetPage<User> users = role != null
+            ? userService.scrollUsersByRole(role, cursor, size, sortBy, sortDir)
+            : userService.scrollActiveUsers(cursor, size, sortBy, sortDir);
+        
+        model.addAttribute("users", users);
+        model.addAttribute("keyset", true);
+        model.addAttribute("nextCursor", users.getNextCursor());
+        model.addAttribute("previousCursor", users.getPreviousCursor());
+        model.addAttribute("selectedRole", role);
+        model.addAttribute("size", size);
         model.addAttribute("sortBy", sortBy);
         model.addAttribute("sortDir", sortDir);
         model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
@@ -124,8 +176,10 @@ public class AdminUserController {
                             RedirectAttributes redirectAttributes) {
         try {
             if (hardDelete) {
-                userService.deleteUser(id);
-                redirectAttributes.addFlashAttribute("successMessage", "Xóa người dùng vĩnh viễn thành công!");
+                CascadeJob job = userService.deleteUser(id);
+                redirectAttributes.addFlashAttribute("successMessage", job.getStatus() == CascadeJob.Status.DONE
+                    ? "Xóa người dùng vĩnh viễn thành công!"
+                    : "Đang xóa người dùng cùng " + job.getTotal() + " video trong nền, xem tiến độ ở trang Tác Vụ Nền");
             } else {
                 userService.deactivateUser(id);
                 redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa người dùng thành công!");
@@ -137,18 +191,32 @@ public class AdminUserController {
         }
     }
     
+    // Bulk action on the checked rows of the list page
+    @PostMapping("/bulk")
+    public String bulkAction(@RequestParam String action,
+                             @RequestParam(required = false) List<Long> ids,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            long affected = switch (action) {
+                case "activate" -> userService.setUsersActive(ids, true);
+                case "deactivate" -> userService.setUsersActive(ids, false);
+                case "delete" -> userService.deleteUsers(ids);
+                default -> throw new RuntimeException("Thao tác không hợp lệ: " + action);
+            };
+            redirectAttributes.addFlashAttribute("successMessage", "Đã áp dụng cho " + affected + " người dùng");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/admin/users";
+    }
+    
     @PostMapping("/{id}/toggle")
     public String toggleUser(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            User user = userService.getUserById(id)
-                .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng với ID: " + id));
-            
-            if (user.getIsActive()) {
-                userService.deactivateUser(id);
-                redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa người dùng thành công!");
-            } else {
-                userService.activateUser(id);
+            if (userService.toggleUserActive(id)) {
                 redirectAttributes.addFlashAttribute("successMessage", "Kích hoạt người dùng thành công!");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa người dùng thành công!");
             }
             return "redirect:/admin/users";
         } catch (RuntimeException e) {
@@ -158,9 +226,12 @@ public class AdminUserController {
     }
     
     @GetMapping("/{id}")
-    public String viewUser(@PathVariable Long id, Model model) {
+    public String viewUser(@PathVariable Long id, ServletWebRequest request, Model model) {
         User user = userService.getActiveUserById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng với ID: " + id));
+        if (ConditionalGet.notModified(request, changeStamps.etag(user.getUpdatedAt()))) {
+            return null;
+        }
         model.addAttribute("user", user);
         return "admin/users/detail";
     }
@@ -1,12 +1,25 @@
 package org.example.baitaptuan6.controller;
 
-import org.example.baitaptuan6.entity.Category;
-import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.dto.CategoryRef;
+import org.example.baitaptuan6.dto.UserRef;
+import org.example.baitaptuan6.dto.VideoDetail;
+import org.example.baitaptuan6.dto.VideoFilter;
+import org.example.baitaptuan6.dto.VideoListItem;
 import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.importer.ImportFormat;
+import org.example.baitaptuan6.importer.VideoImporter;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.paging.PaginationMode;
+import org.example.baitaptuan6.search.FullTextQuery;
+import org.example.baitaptuan6.search.TypeaheadIndex;
 import org.example.baitaptuan6.service.CategoryService;
+import org.example.baitaptuan6.service.ChangeStamps;
 import org.example.baitaptuan6.service.UserService;
+import org.example.baitaptuan6.service.VideoLikeService;
 import org.example.baitaptuan6.service.VideoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,9 +28,14 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Controller
@@ -33,6 +51,21 @@ public class AdminVideoController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private VideoLikeService videoLikeService;
+    
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    
+    @Autowired
+    private VideoImporter videoImporter;
+    
+    @Autowired
+    private ChangeStamps changeStamps;
+    
+    @Value("${app.pagination.mode:offset}")
+    private PaginationMode paginationMode;
+    
     @GetMapping
     public String listVideos(
             @RequestParam(defaultValue = "0") int page,
@@ -42,11 +75,29 @@ public class AdminVideoController {
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest request,
             Model model) {
         
-        Page<Video> videos;
+        size = PageSizes.clamp(size);
+        // Rows show category and user names
+        if (ConditionalGet.notModified(request, changeStamps.etag(ChangeStamps.Table.VIDEOS,
+                ChangeStamps.Table.CATEGORIES, ChangeStamps.Table.USERS))) {
+            return null;
+        }
+        
+        boolean hasKeyword = keyword != null && !keyword.trim().isEmpty();
+        // Relevance only orders search results
+        if (!hasKeyword && FullTextQuery.RELEVANCE.equals(sortBy)) {
+            sortBy = "title";
+        }
+        if (paginationMode == PaginationMode.KEYSET && !hasKeyword) {
+            return listVideosByCursor(cursor, size, sortBy, sortDir, categoryId, userId, model);
+        }
+        
+        Page<VideoListItem> videos;
         
-        if (keyword != null && !keyword.trim().isEmpty()) {
+        if (hasKeyword) {
             videos = videoService.searchVideos(keyword, page, size, sortBy, sortDir);
             model.addAttribute("keyword", keyword);
         } else if (categoryId != null && userId != null) {
@@ -63,15 +114,43 @@ public class AdminVideoController {
             videos = videoService.getAllActiveVideos(page, size, sortBy, sortDir);
         }
         
-        List<Category> categories = categoryService.getAllActiveCategories();
-        List<User> users = userService.getAllActiveUsers();
-        
         model.addAttribute("videos", videos);
-        model.addAttribute("categories", categories);
-        model.addAttribute("users", users);
+        addFilterLabels(model, categoryId, userId);
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", videos.getTotalPages());
         model.addAttribute("totalItems", videos.getTotalElements());
+        model.addAttribute("totalKind", ApproximatePage.totalKind(videos));
+        model.addAttribute("size", size);
+        model.addAttribute("sortBy", sortBy);
+        model.addAttribute("sortDir", sortDir);
+        model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
+        
+        return "admin/videos/list";
+    }
+    
+    // Keyset variant of the list page, pages are addressed by cursor instead of number
+    private String listVideosByCursor(String cursor, int size, String sortBy, String sortDir,
+                                      Long categoryId, Long userId, Model model) {
+        KeysetPage<VideoListItem> videos;
+        
+        if (categoryId != null && userId != null) {
+            videos = videoService.scrollVideosByCategoryAndUser(categoryId, userId, cursor, size, sortBy, sortDir);
+        } else if (categoryId != null) {
+            videos = videoService.scrollVideosByCategory(categoryId, cursor, size, sortBy, sortDir);
+        } else if (userId != null) {
+            videos = videoService.scrollVideosByUser(userId, cursor, size, sortBy, sortDir);
+        } else {
+            videos = videoService.scrollActiveVideos(cursor, size, sortBy, sortDir);
+        }
+        
+        model.addAttribute("videos", videos);
+        model.addAttribute("keyset", true);
+        model.addAttribute("nextCursor", videos.getNextCursor());
+        model.addAttribute("previousCursor", videos.getPreviousCursor());
+        model.addAttribute("selectedCategoryId", categoryId);
+        model.addAttribute("selectedUserId", userId);
+        addFilterLabels(model, categoryId, userId);
+        model.addAttribute("size", size);
         model.addAttribute("sortBy", sortBy);
         model.addAttribute("sortDir", sortDir);
         model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
@@ -81,12 +160,7 @@ public class AdminVideoController {
     
     @GetMapping("/new")
     public String showCreateForm(Model model) {
-        List<Category> categories = categoryService.getAllActiveCategories();
-        List<User> users = userService.getAllActiveUsers();
-        
         model.addAttribute("video", new Video());
-        model.addAttribute("categories", categories);
-        model.addAttribute("users", users);
         return "admin/videos/form";
     }
     
@@ -95,8 +169,6 @@ public class AdminVideoController {
                              BindingResult result,
                              RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
-            List<Category> categories = categoryService.getAllActiveCategories();
-            List<User> users = userService.getAllActiveUsers();
             return "admin/videos/form";
         }
         
@@ -106,22 +178,36 @@ public class AdminVideoController {
             return "redirect:/admin/videos";
         } catch (RuntimeException e) {
             result.rejectValue("title", "error.video", e.getMessage());
-            List<Category> categories = categoryService.getAllActiveCategories();
-            List<User> users = userService.getAllActiveUsers();
             return "admin/videos/form";
         }
     }
     
+    @GetMapping("/import")
+    public String showImportForm() {
+        return "admin/videos/import";
+    }
+    
+    @PostMapping("/import")
+    public String importVideos(@RequestParam("file") MultipartFile file, Model model) {
+        if (file.isEmpty()) {
+            model.addAttribute("errorMessage", "Vui lòng chọn tệp để nhập");
+            return "admin/videos/import";
+        }
+        try (InputStream input = file.getInputStream()) {
+            model.addAttribute("report", videoImporter.importVideos(input, ImportFormat.fromFilename(file.getOriginalFilename())));
+            model.addAttribute("filename", file.getOriginalFilename());
+        } catch (IOException | RuntimeException e) {
+            model.addAttribute("errorMessage", e.getMessage());
+        }
+        return "admin/videos/import";
+    }
+    
     @GetMapping("/{id}/edit")
     public String showEditForm(@PathVariable Long id, Model model) {
         Video video = videoService.getActiveVideoById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
-        List<Category> categories = categoryService.getAllActiveCategories();
-        List<User> users = userService.getAllActiveUsers();
         
         model.addAttribute("video", video);
-        model.addAttribute("categories", categories);
-        model.addAttribute("users", users);
         return "admin/videos/form";
     }
     
@@ -131,8 +217,6 @@ public class AdminVideoController {
                              BindingResult result,
                              RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
-            List<Category> categories = categoryService.getAllActiveCategories();
-            List<User> users = userService.getAllActiveUsers();
             return "admin/videos/form";
         }
         
@@ -142,8 +226,6 @@ public class AdminVideoController {
             return "redirect:/admin/videos";
         } catch (RuntimeException e) {
             result.rejectValue("title", "error.video", e.getMessage());
-            List<Category> categories = categoryService.getAllActiveCategories();
-            List<User> users = userService.getAllActiveUsers();
             return "admin/videos/form";
         }
     }
@@ -175,18 +257,40 @@ public class AdminVideoController {
         }
     }
     
+    // Bulk action on the checked videos, or on every video matching the list filter
+    @PostMapping("/bulk")
+    public String bulkAction(@RequestParam String action,
+                             @RequestParam(required = false) List<Long> ids,
+                             @RequestParam(defaultValue = "false") boolean allMatching,
+                             @RequestParam(required = false) String keyword,
+                             @RequestParam(required = false) Long categoryId,
+                             @RequestParam(required = false) Long userId,
+                             RedirectAttributes redirectAttributes) {
+        try {
+            VideoFilter filter = new VideoFilter(categoryId, userId, keyword);
+            long affected = switch (action) {
+                case "activate" -> allMatching ? videoService.setVideosActive(filter, true) : videoService.setVideosActive(ids, true);
+                case "deactivate" -> allMatching ? videoService.setVideosActive(filter, false) : videoService.setVideosActive(ids, false);
+                case "delete" -> allMatching ? videoService.deleteVideos(filter) : videoService.deleteVideos(ids);
+                default -> throw new RuntimeException("Thao tác không hợp lệ: " + action);
+            };
+            redirectAttributes.addFlashAttribute("successMessage", "Đã áp dụng cho " + affected + " video");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        redirectAttributes.addAttribute("keyword", keyword);
+        redirectAttributes.addAttribute("categoryId", categoryId);
+        redirectAttributes.addAttribute("userId", userId);
+        return "redirect:/admin/videos";
+    }
+    
     @PostMapping("/{id}/toggle")
     public String toggleVideo(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            Video video = videoService.getVideoById(id)
-                .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
-            
-            if (video.getIsActive()) {
-                videoService.deactivateVideo(id);
-                redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa video thành công!");
-            } else {
-                videoService.activateVideo(id);
+            if (videoService.toggleVideoActive(id)) {
                 redirectAttributes.addFlashAttribute("successMessage", "Kích hoạt video thành công!");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", "Vô hiệu hóa video thành công!");
             }
             return "redirect:/admin/videos";
         } catch (RuntimeException e) {
@@ -196,10 +300,17 @@ public class AdminVideoController {
     }
     
     @GetMapping("/{id}")
-    public String viewVideo(@PathVariable Long id, Model model) {
-        Video video = videoService.getActiveVideoById(id)
+    public String viewVideo(@PathVariable Long id, ServletWebRequest request, Model model) {
+        // Views and likes are counted without touching updated_at, so the table stamps are used,
+        // plus the views still waiting in the buffer
+        String stamp = changeStamps.etag(ChangeStamps.Table.VIDEOS, ChangeStamps.Table.CATEGORIES, ChangeStamps.Table.USERS);
+        if (ConditionalGet.notModified(request, stamp != null ? stamp + "-" + videoService.getPendingViews(id) : null)) {
+            return null;
+        }
+        VideoDetail video = videoService.getActiveVideoDetail(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
         model.addAttribute("video", video);
+        model.addAttribute("pendingViews", videoService.getPendingViews(id));
         return "admin/videos/detail";
     }
     
@@ -215,13 +326,26 @@ public class AdminVideoController {
     }
     
     @PostMapping("/{id}/increment-likes")
-    public String incrementLikes(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+    public String incrementLikes(@PathVariable Long id,
+                                 @RequestParam Long userId,
+                                 RedirectAttributes redirectAttributes) {
         try {
-            videoService.incrementLikes(id);
-            redirectAttributes.addFlashAttribute("successMessage", "Tăng lượt thích thành công!");
+            if (videoLikeService.likeVideo(id, userId)) {
+                redirectAttributes.addFlashAttribute("successMessage", "Tăng lượt thích thành công!");
+            } else {
+                redirectAttributes.addFlashAttribute("errorMessage", "Người dùng đã thích video này rồi");
+            }
         } catch (RuntimeException e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
         }
         return "redirect:/admin/videos/" + id;
     }
+    
+    // Names shown in the category and user filter pickers
+    private void addFilterLabels(Model model, Long categoryId, Long userId) {
+        CategoryRef category = typeaheadIndex.getCategory(categoryId);
+        UserRef user = typeaheadIndex.getUser(userId);
+        model.addAttribute("selectedCategoryName", category != null ? category.getName() : null);
+        model.addAttribute("selectedUserName", user != null ? user.getFullName() : null);
+    }
 }
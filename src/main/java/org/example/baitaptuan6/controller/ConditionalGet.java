@@ -0,0 +1,24 @@
+package org.example.baitaptuan6.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // True when the client's copy carries the given ETag: the handler then returns null and
+    // answers 304 before any query or template. Otherwise the ETag goes on the response, which
+    // browsers may keep but must revalidate. Pages carrying a flash message are not validated,
+    // the message is shown once only, and neither are pages without an ETag.
+    static boolean notModified(ServletWebRequest request, String etag) {
+        if (etag == null || RequestContextUtils.getInputFlashMap(request.getRequest()) != null) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return request.checkNotModified(etag);
+    }
+}
@@ -1,8 +1,6 @@
 package org.example.baitaptuan6.controller;
 
-import org.example.baitaptuan6.service.CategoryService;
-import org.example.baitaptuan6.service.UserService;
-import org.example.baitaptuan6.service.VideoService;
+import org.example.baitaptuan6.service.ActiveCounters;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -11,20 +9,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
     
+    // Dashboards read the in-memory counters, no database access per request
     @Autowired
-    private CategoryService categoryService;
-    
-    @Autowired
-    private UserService userService;
-    
-    @Autowired
-    private VideoService videoService;
+    private ActiveCounters activeCounters;
     
     @GetMapping("/")
     public String home(Model model) {
-        long categoryCount = categoryService.countActiveCategories();
-        long userCount = userService.countActiveUsers();
-        long videoCount = videoService.countActiveVideos();
+        long categoryCount = activeCounters.get(ActiveCounters.Kind.CATEGORIES);
+        long userCount = activeCounters.get(ActiveCounters.Kind.USERS);
+        long videoCount = activeCounters.get(ActiveCounters.Kind.VIDEOS);
         
         model.addAttribute("categoryCount", categoryCount);
         model.addAttribute("userCount", userCount);
@@ -35,9 +28,9 @@ public class HomeController {
     
     @GetMapping("/admin")
     public String adminDashboard(Model model) {
-        long categoryCount = categoryService.countActiveCategories();
-        long userCount = userService.countActiveUsers();
-        long videoCount = videoService.countActiveVideos();
+        long categoryCount = activeCounters.get(ActiveCounters.Kind.CATEGORIES);
+        long userCount = activeCounters.get(ActiveCounters.Kind.USERS);
+        long videoCount = activeCounters.get(ActiveCounters.Kind.VIDEOS);
         
         model.addAttribute("categoryCount", categoryCount);
         model.addAttribute("userCount", userCount);
@@ -0,0 +1,14 @@
+package org.example.baitaptuan6.controller;
+
+final class PageSizes {
+
+    // The size selects offer up to 50 rows, anything larger is a hand-edited URL
+    static final int MAX = 100;
+
+    private PageSizes() {
+    }
+
+    static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX));
+    }
+}
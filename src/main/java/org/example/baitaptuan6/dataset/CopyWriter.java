@@ -0,0 +1,72 @@
+package org.example.baitaptuan6.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// Streams rows to COPY ... FROM STDIN in text format: tab separated, \N for null.
+// Nothing is visible until finish(); close() without finish() cancels the COPY.
+class CopyWriter implements AutoCloseable {
+
+    private final PGCopyOutputStream copy;
+    private final Writer writer;
+
+    CopyWriter(Connection connection, String table, String... columns) throws SQLException {
+        this.copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+            "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN", 1 << 16);
+        this.writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            Object value = values[i];
+            if (value == null) {
+                writer.write("\\N");
+            } else if (value instanceof String text) {
+                writeText(text);
+            } else if (value instanceof LocalDateTime time) {
+                writer.write(time.toString().replace('T', ' '));
+            } else {
+                writer.write(value.toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeText(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+    }
+
+    // Rows copied
+    long finish() throws IOException, SQLException {
+        writer.flush();
+        return copy.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copy.isActive()) {
+            copy.cancelCopy();
+        }
+    }
+}
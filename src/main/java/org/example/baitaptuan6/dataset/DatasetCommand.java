@@ -0,0 +1,103 @@
+package org.example.baitaptuan6.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Command line generation, e.g.
+//   java -jar app.jar --generate-dataset --app.dataset.videos=10000000 --app.dataset.seed=7 --spring.main.web-application-type=none
+// generates the dataset described by app.dataset.* and exits. With the `dataset` profile
+// (app.dataset.generate-on-startup) an empty database is filled on startup instead, before
+// the in-memory indexes are built, and the application keeps running.
+@Component
+public class DatasetCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetCommand.class);
+
+    static final String OPTION = "generate-dataset";
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${app.dataset.generate-on-startup:false}")
+    private boolean generateOnStartup;
+
+    @Value("${app.dataset.seed:42}")
+    private long seed;
+
+    @Value("${app.dataset.categories:200}")
+    private int categories;
+
+    @Value("${app.dataset.users:100000}")
+    private int users;
+
+    @Value("${app.dataset.videos:1000000}")
+    private long videos;
+
+    @Value("${app.dataset.category-skew:1.1}")
+    private double categorySkew;
+
+    @Value("${app.dataset.user-skew:1.2}")
+    private double userSkew;
+
+    @Value("${app.dataset.view-skew:0.9}")
+    private double viewSkew;
+
+    @Value("${app.dataset.max-views:50000000}")
+    private long maxViews;
+
+    @Value("${app.dataset.inactive-categories:0.05}")
+    private double inactiveCategories;
+
+    @Value("${app.dataset.inactive-users:0.03}")
+    private double inactiveUsers;
+
+    @Value("${app.dataset.inactive-videos:0.04}")
+    private double inactiveVideos;
+
+    @Value("${app.dataset.until:2025-01-01T00:00:00}")
+    private String until;
+
+    @Value("${app.dataset.days:1095}")
+    private int days;
+
+    @Value("${app.dataset.truncate:false}")
+    private boolean truncate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            int status = 0;
+            try {
+                datasetGenerator.generate(spec());
+            } catch (RuntimeException e) {
+                log.error("Dataset generation failed", e);
+                status = 1;
+            }
+            int exitCode = status;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        } else if (generateOnStartup) {
+            if (!truncate && !datasetGenerator.isEmpty()) {
+                log.info("Database already has data, skipping dataset generation");
+                return;
+            }
+            datasetGenerator.generate(spec());
+        }
+    }
+
+    private DatasetSpec spec() {
+        return new DatasetSpec(seed, categories, users, videos, categorySkew, userSkew, viewSkew, maxViews,
+            inactiveCategories, inactiveUsers, inactiveVideos, LocalDateTime.parse(until), days, truncate);
+    }
+}
@@ -0,0 +1,271 @@
+package org.example.baitaptuan6.dataset;
+
+import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.service.ChangeStamps;
+import org.example.baitaptuan6.service.EntityCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Fills categories, users and videos with synthetic rows for performance testing.
+//
+// Rows are produced from one seeded SplittableRandom in a fixed order and streamed with COPY,
+// videos in chunks of app.dataset.copy-chunk-size with the secondary indexes of users and
+// videos dropped during the load and rebuilt once at the end. Videos pick their category and
+// uploader with Zipf skew (popular ones taken from a seeded shuffle, not the lowest ids), and
+// views follow a Zipf curve by popularity rank. Videos of inactive categories or users are
+// inactive and flagged deactivated_by_cascade, as CascadeEngine would leave them.
+// Only the password hash (one BCrypt of "password" shared by every user) differs between runs.
+@Component
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String[] TABLES = {"video_likes", "videos", "users", "categories", "cascade_jobs"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private ChangeStamps changeStamps;
+
+    @Value("${app.dataset.copy-chunk-size:1000000}")
+    private int copyChunkSize;
+
+    public boolean isEmpty() {
+        try (Connection connection = dataSource.getConnection()) {
+            return isEmpty(connection);
+        } catch (SQLException e) {
+            throw new RuntimeException("Không kiểm tra được dữ liệu hiện có: " + e.getMessage(), e);
+        }
+    }
+
+    public DatasetReport generate(DatasetSpec spec) {
+        long start = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (spec.truncate()) {
+                execute(connection, "TRUNCATE " + String.join(", ", TABLES) + " RESTART IDENTITY");
+            } else if (!isEmpty(connection)) {
+                throw new RuntimeException("Cơ sở dữ liệu đã có dữ liệu, dùng app.dataset.truncate=true để xóa trước khi sinh dữ liệu");
+            }
+            SplittableRandom random = new SplittableRandom(spec.seed());
+
+            boolean[] categoryActive = copyCategories(connection, spec, random);
+            long[] categoryIds = ids(connection, "categories", spec.categories());
+
+            boolean[] userActive;
+            List<String> userIndexes = dropSecondaryIndexes(connection, "users");
+            try {
+                userActive = copyUsers(connection, spec, random);
+            } finally {
+                recreate(connection, userIndexes);
+            }
+            long[] userIds = ids(connection, "users", spec.users());
+
+            List<String> videoIndexes = dropSecondaryIndexes(connection, "videos");
+            try {
+                copyVideos(connection, spec, random, categoryIds, categoryActive, userIds, userActive);
+            } finally {
+                recreate(connection, videoIndexes);
+            }
+
+            execute(connection, "ANALYZE categories, users, videos");
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Sinh dữ liệu thất bại: " + e.getMessage(), e);
+        }
+        // COPY bypasses Hibernate, and a truncate leaves cached rows that no longer exist
+        entityCache.evictAll();
+        for (ChangeStamps.Table table : ChangeStamps.Table.values()) {
+            changeStamps.touch(table);
+        }
+        DatasetReport report = new DatasetReport(spec.categories(), spec.users(), spec.videos(),
+            System.currentTimeMillis() - start);
+        log.info("Generated {} categories, {} users and {} videos (seed {}) in {} ms ({} rows/s)",
+            report.categories(), report.users(), report.videos(), spec.seed(), report.elapsedMs(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private boolean[] copyCategories(Connection connection, DatasetSpec spec, SplittableRandom random)
+            throws SQLException, IOException {
+        boolean[] active = new boolean[spec.categories()];
+        try (CopyWriter copy = new CopyWriter(connection, "categories",
+                "name", "description", "is_active", "created_at")) {
+            for (int i = 0; i < active.length; i++) {
+                active[i] = random.nextDouble() >= spec.inactiveCategories();
+                copy.row(VietnameseText.categoryName(i), VietnameseText.categoryDescription(i), active[i],
+                    createdAt(spec, random));
+            }
+            copy.finish();
+        }
+        return active;
+    }
+
+    // The first user is the administrator
+    private boolean[] copyUsers(Connection connection, DatasetSpec spec, SplittableRandom random)
+            throws SQLException, IOException {
+        String password = passwordEncoder.encode("password");
+        boolean[] active = new boolean[spec.users()];
+        try (CopyWriter copy = new CopyWriter(connection, "users",
+                "username", "email", "password", "full_name", "role", "is_active", "created_at")) {
+            for (int i = 0; i < active.length; i++) {
+                String fullName = VietnameseText.fullName(random);
+                String username = VietnameseText.username(fullName, i + 1);
+                active[i] = i == 0 || random.nextDouble() >= spec.inactiveUsers();
+                copy.row(username, username + "@example.com", password, fullName, i == 0 ? "ADMIN" : "USER",
+                    active[i], createdAt(spec, random));
+            }
+            copy.finish();
+        }
+        return active;
+    }
+
+    private void copyVideos(Connection connection, DatasetSpec spec, SplittableRandom random,
+                            long[] categoryIds, boolean[] categoryActive, long[] userIds, boolean[] userActive)
+            throws SQLException, IOException {
+        ZipfSampler categories = new ZipfSampler(categoryIds.length, spec.categorySkew());
+        ZipfSampler users = new ZipfSampler(userIds.length, spec.userSkew());
+        int[] categoryByRank = shuffledOrdinals(categoryIds.length, random);
+        int[] userByRank = shuffledOrdinals(userIds.length, random);
+
+        long firstId = reserveVideoIds(connection, spec.videos());
+        long start = System.currentTimeMillis();
+        long written = 0;
+        while (written < spec.videos()) {
+            long chunk = Math.min(copyChunkSize, spec.videos() - written);
+            try (CopyWriter copy = new CopyWriter(connection, "videos", "id", "title", "description", "url", "duration",
+                    "views", "likes", "is_active", "deactivated_by_cascade", "created_at", "category_id", "user_id")) {
+                for (long i = written; i < written + chunk; i++) {
+                    int category = categoryByRank[categories.sample(random) - 1];
+                    int user = userByRank[users.sample(random) - 1];
+                    long views = Math.round(spec.maxViews() / Math.pow(1 + random.nextLong(spec.videos()), spec.viewSkew()));
+                    long likes = Math.round(views * (0.005 + 0.045 * random.nextDouble()));
+                    boolean parentsActive = categoryActive[category] && userActive[user];
+                    boolean active = parentsActive && random.nextDouble() >= spec.inactiveVideos();
+                    copy.row(firstId + i, VietnameseText.title(random), VietnameseText.description(random),
+                        "https://video.example.com/v/" + (i + 1), duration(random), views, likes,
+                        active, !parentsActive, createdAt(spec, random), categoryIds[category], userIds[user]);
+                }
+                copy.finish();
+            }
+            written += chunk;
+            log.info("Copied {} / {} videos ({} rows/s)", written, spec.videos(),
+                written * 1000 / Math.max(1, System.currentTimeMillis() - start));
+        }
+    }
+
+    // Consecutive ids first .. first + count - 1 taken from videos_seq the way the pooled
+    // optimizer reads it (each value ends a block of Video.ID_ALLOCATION_SIZE ids), with the
+    // sequence moved past them; the column default would spend a whole block on every row
+    private static long reserveVideoIds(Connection connection, long count) throws SQLException {
+        long first;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT nextval('videos_seq')")) {
+            rs.next();
+            first = Math.max(1, rs.getLong(1) - Video.ID_ALLOCATION_SIZE + 1);
+        }
+        execute(connection, "SELECT setval('videos_seq', " + Math.max(first + count - 1, 1) + ")");
+        return first;
+    }
+
+    // Seconds, log-normal around 5 minutes, between 15 seconds and 3 hours
+    private static int duration(SplittableRandom random) {
+        return (int) Math.max(15, Math.min(10800, Math.exp(5.7 + 1.0 * random.nextGaussian())));
+    }
+
+    private static LocalDateTime createdAt(DatasetSpec spec, SplittableRandom random) {
+        return spec.until().minusSeconds(random.nextLong(Math.max(1, spec.days() * 86400L)));
+    }
+
+    private static int[] shuffledOrdinals(int n, SplittableRandom random) {
+        int[] ordinals = new int[n];
+        for (int i = 0; i < n; i++) {
+            ordinals[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ordinals[i];
+            ordinals[i] = ordinals[j];
+            ordinals[j] = swap;
+        }
+        return ordinals;
+    }
+
+    // Ids in insertion order, the table was empty before the COPY
+    private static long[] ids(Connection connection, String table, int count) throws SQLException {
+        long[] ids = new long[count];
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT id FROM " + table + " ORDER BY id")) {
+            for (int i = 0; i < count && rs.next(); i++) {
+                ids[i] = rs.getLong(1);
+            }
+        }
+        return ids;
+    }
+
+    // Definitions of the indexes not backing a constraint, dropped so the load skips their upkeep
+    private static List<String> dropSecondaryIndexes(Connection connection, String table) throws SQLException {
+        List<String> names = new ArrayList<>();
+        List<String> definitions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT i.relname, pg_get_indexdef(x.indexrelid) FROM pg_index x "
+                     + "JOIN pg_class i ON i.oid = x.indexrelid "
+                     + "WHERE x.indrelid = '" + table + "'::regclass "
+                     + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+                definitions.add(rs.getString(2));
+            }
+        }
+        for (String name : names) {
+            execute(connection, "DROP INDEX " + name);
+        }
+        return definitions;
+    }
+
+    private static void recreate(Connection connection, List<String> indexDefinitions) throws SQLException {
+        long start = System.currentTimeMillis();
+        for (String definition : indexDefinitions) {
+            execute(connection, definition);
+        }
+        if (!indexDefinitions.isEmpty()) {
+            log.info("Rebuilt {} indexes in {} ms", indexDefinitions.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private static boolean isEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT NOT EXISTS (SELECT 1 FROM categories) "
+                 + "AND NOT EXISTS (SELECT 1 FROM users) AND NOT EXISTS (SELECT 1 FROM videos)")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.baitaptuan6.dataset;
+
+public record DatasetReport(long categories, long users, long videos, long elapsedMs) {
+
+    public long getRowsPerSecond() {
+        return elapsedMs > 0 ? (categories + users + videos) * 1000 / elapsedMs : 0;
+    }
+}
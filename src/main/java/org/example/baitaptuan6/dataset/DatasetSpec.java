@@ -0,0 +1,22 @@
+package org.example.baitaptuan6.dataset;
+
+import java.time.LocalDateTime;
+
+// What to generate. Skews are Zipf exponents (0 < s, higher is more skewed); inactive
+// ratios are the share of rows created inactive. Rows are created within `days` before
+// `until`, and the same seed always produces the same rows.
+public record DatasetSpec(long seed,
+                          int categories,
+                          int users,
+                          long videos,
+                          double categorySkew,
+                          double userSkew,
+                          double viewSkew,
+                          long maxViews,
+                          double inactiveCategories,
+                          double inactiveUsers,
+                          double inactiveVideos,
+                          LocalDateTime until,
+                          int days,
+                          boolean truncate) {
+}
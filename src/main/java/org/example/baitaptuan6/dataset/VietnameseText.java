@@ -0,0 +1,102 @@
+package org.example.baitaptuan6.dataset;
+
+import org.example.baitaptuan6.search.TextNormalizer;
+
+import java.util.random.RandomGenerator;
+
+// Vietnamese names, titles and descriptions with diacritics for generated rows
+final class VietnameseText {
+
+    private static final String[] TOPICS = {
+        "Âm nhạc", "Thể thao", "Giáo dục", "Du lịch", "Ẩm thực", "Công nghệ", "Trò chơi", "Tin tức",
+        "Phim ảnh", "Hài hước", "Sức khỏe", "Làm đẹp", "Khoa học", "Lịch sử", "Thời trang", "Đời sống"
+    };
+
+    static final String[] TITLE_WORDS = {
+        "hướng", "dẫn", "nấu", "ăn", "món", "phở", "bún", "chả", "cách", "làm", "bánh", "mì",
+        "học", "tiếng", "anh", "lập", "trình", "cơ", "bản", "nâng", "cao", "trận", "đấu", "bóng",
+        "đá", "việt", "nam", "hà", "nội", "sài", "gòn", "đà", "nẵng", "huế", "khám", "phá",
+        "trải", "nghiệm", "đánh", "giá", "điện", "thoại", "mới", "nhất", "bài", "hát", "nhạc",
+        "trẻ", "trữ", "tình", "phim", "ngắn", "hài", "tập", "luyện", "yoga", "buổi", "sáng",
+        "tin", "tức", "thời", "sự", "kinh", "tế", "du", "lịch", "biển", "núi", "mùa", "thu",
+        "đêm", "lễ", "hội", "chợ", "quê", "phố", "cổ", "những", "điều", "thú", "vị", "về"
+    };
+
+    private static final String[] SENTENCES = {
+        "Video này chia sẻ những kinh nghiệm thực tế mà ai cũng nên biết.",
+        "Đừng quên bấm thích và đăng ký kênh để ủng hộ chúng tôi nhé.",
+        "Hôm nay chúng ta sẽ cùng nhau tìm hiểu từng bước một cách chi tiết.",
+        "Nội dung được thực hiện tại Việt Nam với sự tham gia của nhiều khách mời.",
+        "Mọi ý kiến đóng góp xin để lại ở phần bình luận bên dưới.",
+        "Phần tiếp theo sẽ được phát sóng vào tuần sau, hẹn gặp lại các bạn.",
+        "Cảm ơn các bạn đã theo dõi và đồng hành cùng kênh trong suốt thời gian qua.",
+        "Đây là tập đặc biệt với nhiều bất ngờ thú vị đang chờ đón."
+    };
+
+    private static final String[] SURNAMES = {
+        "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"
+    };
+
+    private static final String[] MIDDLE_NAMES = {
+        "Văn", "Thị", "Minh", "Ngọc", "Thanh", "Quốc", "Hữu", "Đức", "Thu", "Gia", "Bảo", "Xuân"
+    };
+
+    private static final String[] GIVEN_NAMES = {
+        "An", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hải", "Hạnh", "Hiếu", "Hùng", "Hương", "Khánh",
+        "Linh", "Long", "Mai", "Nam", "Ngân", "Phong", "Phúc", "Quân", "Quỳnh", "Sơn", "Tâm", "Thảo",
+        "Trang", "Trung", "Tuấn", "Uyên", "Việt", "Yến"
+    };
+
+    private VietnameseText() {
+    }
+
+    // Topic names repeat with a number once the list is used up, so names stay unique
+    static String categoryName(int ordinal) {
+        String topic = TOPICS[ordinal % TOPICS.length];
+        return ordinal < TOPICS.length ? topic : topic + " " + (ordinal / TOPICS.length + 1);
+    }
+
+    static String categoryDescription(int ordinal) {
+        return "Các video về chủ đề " + TOPICS[ordinal % TOPICS.length].toLowerCase();
+    }
+
+    static String fullName(RandomGenerator random) {
+        return pick(random, SURNAMES) + " " + pick(random, MIDDLE_NAMES) + " " + pick(random, GIVEN_NAMES);
+    }
+
+    // "Nguyễn Văn Hùng", 42 -> "hung.nguyen42"
+    static String username(String fullName, int ordinal) {
+        String[] parts = TextNormalizer.fold(fullName).split(" ");
+        return parts[parts.length - 1] + "." + parts[0] + ordinal;
+    }
+
+    static String title(RandomGenerator random) {
+        int words = random.nextInt(3, 9);
+        StringBuilder title = new StringBuilder(words * 6);
+        for (int i = 0; i < words; i++) {
+            String word = pick(random, TITLE_WORDS);
+            if (i == 0) {
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                title.append(' ').append(word);
+            }
+        }
+        return title.toString();
+    }
+
+    static String description(RandomGenerator random) {
+        int sentences = random.nextInt(1, 4);
+        StringBuilder description = new StringBuilder(sentences * 70);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(pick(random, SENTENCES));
+        }
+        return description.toString();
+    }
+
+    private static String pick(RandomGenerator random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.baitaptuan6.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Category reference (id and display name only), used by video projections and pickers
+@Getter
+@AllArgsConstructor
+public class CategoryRef {
+    private final Long id;
+    private final String name;
+}
@@ -0,0 +1,14 @@
+package org.example.baitaptuan6.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Aggregates over the videos of a category, computed by the database
+@Getter
+@AllArgsConstructor
+public class CategoryStats {
+    private final Long totalVideos;
+    private final Long activeVideos;
+    private final Long totalViews;
+    private final Long totalLikes;
+}
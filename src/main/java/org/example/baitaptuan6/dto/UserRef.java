@@ -0,0 +1,12 @@
+package org.example.baitaptuan6.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// User reference (id and display name only), used by video projections and pickers
+@Getter
+@AllArgsConstructor
+public class UserRef {
+    private final Long id;
+    private final String fullName;
+}
@@ -0,0 +1,41 @@
+package org.example.baitaptuan6.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Read model for the video detail page, loaded with its category and user in one joined query
+@Getter
+public class VideoDetail {
+    
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String url;
+    private final Integer duration;
+    private final Long views;
+    private final Long likes;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final CategoryRef category;
+    private final UserRef user;
+    
+    // Used by JPQL constructor expressions in VideoRepository
+    public VideoDetail(Long id, String title, String description, String url, Integer duration, Long views, Long likes,
+                       Boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt,
+                       Long categoryId, String categoryName, Long userId, String userFullName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.url = url;
+        this.duration = duration;
+        this.views = views;
+        this.likes = likes;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.category = new CategoryRef(categoryId, categoryName);
+        this.user = new UserRef(userId, userFullName);
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.baitaptuan6.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Criteria of the video list page (keyword, category, user), used by the bulk actions
+@Getter
+@AllArgsConstructor
+public class VideoFilter {
+    private final Long categoryId;
+    private final Long userId;
+    private final String keyword;
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.trim().isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return categoryId == null && userId == null && !hasKeyword();
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.baitaptuan6.dto;
+
+// Id of a video row, what keyset scrolls select before loading the list rows
+public interface VideoKey {
+    Long getId();
+}
@@ -0,0 +1,35 @@
+package org.example.baitaptuan6.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Read model for video list rows, loaded with its category and user in one joined query.
+// Property names mirror Video so list templates can render either.
+@Getter
+public class VideoListItem {
+    
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Long views;
+    private final Long likes;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final CategoryRef category;
+    private final UserRef user;
+    
+    // Used by JPQL constructor expressions in VideoRepository
+    public VideoListItem(Long id, String title, String description, Long views, Long likes, Boolean isActive,
+                         LocalDateTime createdAt, Long categoryId, String categoryName, Long userId, String userFullName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.views = views;
+        this.likes = likes;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.category = new CategoryRef(categoryId, categoryName);
+        this.user = new UserRef(userId, userFullName);
+    }
+}
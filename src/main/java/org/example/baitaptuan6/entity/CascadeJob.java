@@ -0,0 +1,87 @@
+package org.example.baitaptuan6.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Propagation of a category or user change to its videos, see CascadeEngine
+@Entity
+@Table(name = "cascade_jobs")
+@Data
+@NoArgsConstructor
+public class CascadeJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target", nullable = false, length = 20)
+    private Target target;
+    
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 20)
+    private Action action;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+    
+    // Left running after the request that created it returned
+    @Column(name = "background", nullable = false)
+    private Boolean background = false;
+    
+    // Videos of the parent when the job was created
+    @Column(name = "total", nullable = false)
+    private Long total = 0L;
+    
+    // Videos changed or deleted so far
+    @Column(name = "processed", nullable = false)
+    private Long processed = 0L;
+    
+    @Column(name = "error", length = 1000)
+    private String error;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public CascadeJob(Target target, Long targetId, Action action, long total, boolean background) {
+        this.target = target;
+        this.targetId = targetId;
+        this.action = action;
+        this.total = total;
+        this.background = background;
+    }
+    
+    // Percentage done, for the progress bars
+    public int getPercent() {
+        if (status == Status.DONE || total == null || total == 0) {
+            return status == Status.DONE ? 100 : 0;
+        }
+        return (int) Math.min(100, processed * 100 / total);
+    }
+    
+    public enum Target {
+        CATEGORY, USER
+    }
+    
+    public enum Action {
+        DEACTIVATE, ACTIVATE, DELETE
+    }
+    
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+}
@@ -6,6 +6,9 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.baitaptuan6.service.ChangeStampListener;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +17,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@EntityListeners(ChangeStampListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,7 +49,8 @@ public class Category {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // Not cascaded: deactivation and deletion reach the videos through CascadeEngine
+    @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     private List<Video> videos;
     
     // Constructor for creating new category
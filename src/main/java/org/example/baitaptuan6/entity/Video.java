@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.baitaptuan6.service.ChangeStampListener;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,13 +15,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "videos")
+@EntityListeners(ChangeStampListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Video {
     
+    // Ids handed out per nextval of videos_seq, must match its INCREMENT BY
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "videos_seq")
+    @SequenceGenerator(name = "videos_seq", sequenceName = "videos_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Tiêu đề video không được để trống")
@@ -49,6 +55,10 @@ public class Video {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
     
+    // Hidden because its category or user was deactivated, see CascadeEngine
+    @Column(name = "deactivated_by_cascade", nullable = false)
+    private Boolean deactivatedByCascade = false;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -78,5 +88,6 @@ public class Video {
         this.views = 0L;
         this.likes = 0L;
         this.isActive = true;
+        this.deactivatedByCascade = false;
     }
 }
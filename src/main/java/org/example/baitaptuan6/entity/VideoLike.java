@@ -0,0 +1,56 @@
+package org.example.baitaptuan6.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "video_likes")
+@IdClass(VideoLike.Key.class)
+@Data
+@NoArgsConstructor
+public class VideoLike {
+    
+    // The (video, user) pair is the primary key, so a user can like a video only once
+    @Id
+    @Column(name = "video_id", nullable = false)
+    private Long videoId;
+    
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "video_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Video video;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+    
+    public VideoLike(Long videoId, Long userId) {
+        this.videoId = videoId;
+        this.userId = userId;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long videoId;
+        private Long userId;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.baitaptuan6.exporter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+
+// Streams a whole table to an output stream. Rows are read through a server-side cursor
+// (fetch size app.export.fetch-size inside a read-only transaction) and written as they
+// arrive, without entities or a persistence context, so memory stays flat with table size.
+@Component
+public class CatalogExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogExporter.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.export.fetch-size:10000}")
+    private int fetchSize;
+
+    // Returns the number of rows written; the output stream is flushed but not closed
+    public long export(ExportDataset dataset, ExportFormat format, boolean activeOnly, OutputStream output) {
+        long start = System.currentTimeMillis();
+        String[] columns = dataset.getColumns();
+        RowWriter writer = format.open(output, columns);
+
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(fetchSize);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] rows = new long[1];
+        readOnly.executeWithoutResult(status -> cursor.query(dataset.selectSql(activeOnly),
+            rs -> {
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    Object value = rs.getObject(i + 1);
+                    values[i] = value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+                }
+                try {
+                    writer.write(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }));
+        try {
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} {} as {} in {} ms", rows[0], dataset.getTable(), format, System.currentTimeMillis() - start);
+        return rows[0];
+    }
+}
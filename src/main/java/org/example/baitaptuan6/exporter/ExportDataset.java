@@ -0,0 +1,40 @@
+package org.example.baitaptuan6.exporter;
+
+import java.util.Locale;
+
+// Tables that can be exported and the columns written for each, in id order.
+// Passwords are never exported.
+public enum ExportDataset {
+    VIDEOS("videos", "id, title, description, url, duration, views, likes, is_active, created_at, updated_at, category_id, user_id"),
+    USERS("users", "id, username, email, full_name, role, is_active, created_at, updated_at"),
+    CATEGORIES("categories", "id, name, description, is_active, created_at, updated_at");
+
+    private final String table;
+    private final String[] columns;
+
+    ExportDataset(String table, String columns) {
+        this.table = table;
+        this.columns = columns.split(", ");
+    }
+
+    public static ExportDataset fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Không hỗ trợ xuất dữ liệu: " + name);
+        }
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    String selectSql(boolean activeOnly) {
+        return "SELECT " + String.join(", ", columns) + " FROM " + table
+            + (activeOnly ? " WHERE is_active = true" : "") + " ORDER BY id";
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.baitaptuan6.exporter;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public static ExportFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Định dạng xuất không được hỗ trợ (csv, ndjson): " + name);
+        }
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    RowWriter open(OutputStream output, String[] columns) {
+        return this == CSV ? new CsvRowWriter(output, columns) : new NdjsonRowWriter(output, columns);
+    }
+}
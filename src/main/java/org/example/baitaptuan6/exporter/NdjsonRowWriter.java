@@ -0,0 +1,53 @@
+package org.example.baitaptuan6.exporter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Newline-delimited JSON, one object per row keyed by column name
+class NdjsonRowWriter implements RowWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private final String[] columns;
+
+    NdjsonRowWriter(OutputStream output, String[] columns) {
+        this.columns = columns;
+        try {
+            this.generator = FACTORY.createGenerator(output, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } catch (IOException e) {
+            throw new RuntimeException("Không ghi được dữ liệu xuất: " + e.getMessage(), e);
+        }
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Long || value instanceof Integer) {
+                generator.writeNumber(((Number) value).longValue());
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.baitaptuan6.exporter;
+
+import java.io.IOException;
+
+// Writes exported rows one at a time; values are in the order of the export's columns.
+// Supported values are null, numbers, booleans, LocalDateTime and strings.
+interface RowWriter {
+
+    void write(Object[] values) throws IOException;
+
+    // Flush buffered output without closing the underlying stream
+    void finish() throws IOException;
+}
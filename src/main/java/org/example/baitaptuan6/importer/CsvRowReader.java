@@ -0,0 +1,121 @@
+package org.example.baitaptuan6.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// RFC 4180 CSV: the first record names the columns, fields may be quoted with ""
+// and quoted fields may contain commas, escaped quotes ("") and line breaks.
+class CsvRowReader implements RowReader {
+
+    private final BufferedReader reader;
+    private String[] header;
+    private long lineNumber;
+
+    CsvRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            // Drop a UTF-8 byte order mark left by spreadsheet exports
+            if (!names.isEmpty() && names.get(0).startsWith("\uFEFF")) {
+                names.set(0, names.get(0).substring(1));
+            }
+            header = names.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+        }
+        while (true) {
+            long line = lineNumber + 1;
+            List<String> values;
+            try {
+                values = readRecord();
+            } catch (MalformedRecordException e) {
+                return ImportRow.invalid(line, e.getMessage());
+            }
+            if (values == null) {
+                return null;
+            }
+            // Skip empty lines
+            if (values.size() == 1 && values.get(0).isEmpty()) {
+                continue;
+            }
+            if (values.size() > header.length) {
+                return ImportRow.invalid(line, "Dòng có " + values.size() + " cột, tiêu đề chỉ có " + header.length + " cột");
+            }
+            Map<String, String> fields = new HashMap<>(header.length * 2);
+            for (int i = 0; i < values.size(); i++) {
+                fields.put(header[i], values.get(i));
+            }
+            return ImportRow.of(line, fields);
+        }
+    }
+
+    // Fields of the next record, which may span several lines; null at the end of the input
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                // Line break inside a quoted field
+                line = reader.readLine();
+                if (line == null) {
+                    throw new MalformedRecordException("Thiếu dấu \" đóng trường");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static class MalformedRecordException extends IOException {
+        MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.baitaptuan6.importer;
+
+import java.io.Reader;
+import java.util.Locale;
+
+// Supported import file formats, chosen from the file extension
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat fromFilename(String filename) {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new RuntimeException("Định dạng tệp không được hỗ trợ (chỉ nhận .csv, .ndjson, .jsonl): " + filename);
+    }
+
+    RowReader open(Reader reader) {
+        return this == CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.baitaptuan6.importer;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of one import: counts, elapsed time and the first errors by line
+@Getter
+public class ImportReport {
+
+    public record RowError(long line, String message) {
+    }
+
+    private final ImportFormat format;
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private long rows;
+    private long inserted;
+    private long failed;
+    private long elapsedMs;
+
+    public ImportReport(ImportFormat format, int maxErrors) {
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    // Errors beyond maxErrors are counted but not kept
+    public boolean isTruncated() {
+        return failed > errors.size();
+    }
+
+    public long getRowsPerSecond() {
+        return elapsedMs > 0 ? rows * 1000 / elapsedMs : rows;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    void inserted(long count) {
+        inserted += count;
+    }
+
+    void failed(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    void finish(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
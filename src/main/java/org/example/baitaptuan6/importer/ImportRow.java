@@ -0,0 +1,26 @@
+package org.example.baitaptuan6.importer;
+
+import java.util.Map;
+
+// One input record keyed by column name, or the reason it could not be parsed.
+// line is the line number the record starts on.
+public record ImportRow(long line, Map<String, String> fields, String error) {
+
+    public static ImportRow of(long line, Map<String, String> fields) {
+        return new ImportRow(line, fields, null);
+    }
+
+    public static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, Map.of(), error);
+    }
+
+    // Trimmed value of a column, null when missing or blank
+    public String get(String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.baitaptuan6.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+// Newline-delimited JSON: one object per line, scalar properties become the columns
+class NdjsonRowReader implements RowReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    NdjsonRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            return ImportRow.invalid(lineNumber, "JSON không hợp lệ: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ImportRow.invalid(lineNumber, "Mỗi dòng phải là một đối tượng JSON");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> property = it.next();
+            if (property.getValue().isValueNode() && !property.getValue().isNull()) {
+                fields.put(property.getKey().toLowerCase(Locale.ROOT), property.getValue().asText());
+            }
+        }
+        return ImportRow.of(lineNumber, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.baitaptuan6.importer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ids from a database sequence with pooled allocation: each nextval reserves the block
+// (value - allocationSize + 1 .. value), the same scheme Hibernate's pooled optimizer
+// uses, so JPA inserts and bulk inserts can share one sequence.
+class PooledSequence {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextvalSql;
+    private final int allocationSize;
+
+    // Not synchronized: nextval under a monitor would pin a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next = 1;
+    private long last;
+
+    PooledSequence(JdbcTemplate jdbcTemplate, String sequenceName, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextvalSql = "SELECT nextval('" + sequenceName + "')";
+        this.allocationSize = allocationSize;
+    }
+
+    long next() {
+        lock.lock();
+        try {
+            if (next > last) {
+                last = jdbcTemplate.queryForObject(nextvalSql, Long.class);
+                next = Math.max(1, last - allocationSize + 1);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.baitaptuan6.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Streams the records of an import file one at a time
+interface RowReader extends Closeable {
+
+    // Next record, null at the end of the input
+    ImportRow next() throws IOException;
+}
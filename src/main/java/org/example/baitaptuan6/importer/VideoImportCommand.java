@@ -0,0 +1,67 @@
+package org.example.baitaptuan6.importer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Command line import, e.g.
+//   java -jar app.jar --import-videos=videos.csv,more.ndjson --spring.main.web-application-type=none
+// Imports each file, logs its report and exits; the exit status is 1 when any row failed.
+@Component
+public class VideoImportCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoImportCommand.class);
+
+    static final String OPTION = "import-videos";
+
+    @Autowired
+    private VideoImporter videoImporter;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        int status = 0;
+        for (String value : args.getOptionValues(OPTION)) {
+            for (String path : value.split(",")) {
+                if (!importFile(Path.of(path.trim()))) {
+                    status = 1;
+                }
+            }
+        }
+        int exitCode = status;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    // True when every row of the file was imported
+    private boolean importFile(Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            ImportReport report = videoImporter.importVideos(input, ImportFormat.fromFilename(file.getFileName().toString()));
+            for (ImportReport.RowError error : report.getErrors()) {
+                log.warn("{}:{}: {}", file, error.line(), error.message());
+            }
+            if (report.isTruncated()) {
+                log.warn("{}: {} more failed rows not shown", file, report.getFailed() - report.getErrors().size());
+            }
+            log.info("{}: {} rows, {} imported, {} failed in {} ms ({} rows/s)", file, report.getRows(),
+                report.getInserted(), report.getFailed(), report.getElapsedMs(), report.getRowsPerSecond());
+            return report.getFailed() == 0;
+        } catch (Exception e) {
+            log.error("Import of {} failed", file, e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.baitaptuan6.importer;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.ranking.VideoRankings;
+import org.example.baitaptuan6.search.CatalogSearchIndex;
+import org.example.baitaptuan6.service.ActiveCounters;
+import org.example.baitaptuan6.service.ChangeStamps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk import of videos from CSV or NDJSON (columns title, description, url, duration,
+// category, user). The input is streamed, categories and users are resolved from maps
+// loaded once per import (by id, or by category name / username), and valid rows are
+// inserted with JDBC batches, one transaction per batch. Rows that fail validation or
+// whose batch is rejected by the database are reported by line and skipped.
+@Component
+public class VideoImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoImporter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO videos (id, title, description, url, duration, views, likes, "
+        + "is_active, created_at, updated_at, category_id, user_id) VALUES (?, ?, ?, ?, ?, 0, 0, true, ?, ?, ?, ?)";
+
+    // Category name shared by several active categories
+    private static final long AMBIGUOUS = -1L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private VideoRankings videoRankings;
+
+    @Autowired
+    private ActiveCounters activeCounters;
+
+    @Autowired
+    private ChangeStamps changeStamps;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ImportReport importVideos(InputStream input, ImportFormat format) {
+        long start = System.currentTimeMillis();
+        ImportReport report = new ImportReport(format, maxReportedErrors);
+        Lookups lookups = loadLookups();
+        PooledSequence ids = new PooledSequence(jdbcTemplate, "videos_seq", Video.ID_ALLOCATION_SIZE);
+
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        try (RowReader reader = format.open(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                report.rowRead();
+                if (row.error() != null) {
+                    report.failed(row.line(), row.error());
+                    continue;
+                }
+                Video video = toVideo(row, lookups, report);
+                if (video == null) {
+                    continue;
+                }
+                video.setId(ids.next());
+                batch.add(new PendingRow(row.line(), video));
+                if (batch.size() >= batchSize) {
+                    flush(batch, report);
+                    batch.clear();
+                }
+            }
+            flush(batch, report);
+        } catch (IOException e) {
+            throw new RuntimeException("Không đọc được tệp nhập: " + e.getMessage(), e);
+        }
+
+        report.finish(System.currentTimeMillis() - start);
+        log.info("Imported {} of {} videos ({} failed) from {} in {} ms ({} rows/s)",
+            report.getInserted(), report.getRows(), report.getFailed(), format,
+            report.getElapsedMs(), report.getRowsPerSecond());
+        return report;
+    }
+
+    // Validated video for a row, null (and an error in the report) when the row is rejected
+    private Video toVideo(ImportRow row, Lookups lookups, ImportReport report) {
+        List<String> problems = new ArrayList<>();
+
+        Integer duration = null;
+        String durationValue = row.get("duration");
+        if (durationValue != null) {
+            try {
+                duration = Integer.valueOf(durationValue);
+                if (duration < 0) {
+                    problems.add("Thời lượng không được âm");
+                }
+            } catch (NumberFormatException e) {
+                problems.add("Thời lượng không hợp lệ: " + durationValue);
+            }
+        }
+
+        Long categoryId = lookups.category(row.get("category"));
+        if (row.get("category") == null) {
+            problems.add("Danh mục không được để trống");
+        } else if (categoryId == null) {
+            problems.add("Danh mục không tồn tại hoặc không hoạt động: " + row.get("category"));
+        } else if (categoryId == AMBIGUOUS) {
+            problems.add("Có nhiều danh mục tên " + row.get("category") + ", hãy dùng ID");
+        }
+
+        Long userId = lookups.user(row.get("user"));
+        if (row.get("user") == null) {
+            problems.add("Người dùng không được để trống");
+        } else if (userId == null) {
+            problems.add("Người dùng không tồn tại hoặc không hoạt động: " + row.get("user"));
+        }
+
+        Category category = new Category();
+        category.setId(categoryId);
+        User user = new User();
+        user.setId(userId);
+        Video video = new Video(row.get("title"), row.get("description"), row.get("url"), duration, category, user);
+        for (ConstraintViolation<Video> violation : validator.validate(video)) {
+            problems.add(violation.getMessage());
+        }
+
+        if (!problems.isEmpty()) {
+            report.failed(row.line(), String.join("; ", problems));
+            return null;
+        }
+        return video;
+    }
+
+    private void flush(List<PendingRow> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            report.inserted(batch.size());
+        } catch (DataAccessException e) {
+            // Retry row by row so that only the offending rows are rejected
+            log.debug("Import batch of {} rows rejected, retrying row by row", batch.size(), e);
+            for (PendingRow row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    report.inserted(1);
+                } catch (DataAccessException rowError) {
+                    report.failed(row.line(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            Video video = row.video();
+            ps.setLong(1, video.getId());
+            ps.setString(2, video.getTitle());
+            ps.setString(3, video.getDescription());
+            ps.setString(4, video.getUrl());
+            ps.setObject(5, video.getDuration());
+            ps.setTimestamp(6, timestamp);
+            ps.setTimestamp(7, timestamp);
+            ps.setLong(8, video.getCategory().getId());
+            ps.setLong(9, video.getUser().getId());
+        });
+        for (PendingRow row : rows) {
+            Video video = row.video();
+            video.setCreatedAt(now);
+            video.setUpdatedAt(now);
+            catalogSearchIndex.onVideoChanged(video);
+            videoRankings.onVideoChanged(video);
+        }
+        activeCounters.adjust(ActiveCounters.Kind.VIDEOS, rows.size());
+        changeStamps.touch(ChangeStamps.Table.VIDEOS);
+    }
+
+    // Active categories and users, loaded once per import
+    private Lookups loadLookups() {
+        Set<Long> categoryIds = new HashSet<>();
+        Map<String, Long> categoriesByName = new HashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        Map<String, Long> usersByUsername = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM categories WHERE is_active = true",
+            rs -> {
+                long id = rs.getLong(1);
+                categoryIds.add(id);
+                categoriesByName.merge(rs.getString(2).toLowerCase(Locale.ROOT), id, (a, b) -> AMBIGUOUS);
+            });
+        jdbcTemplate.query("SELECT id, username FROM users WHERE is_active = true",
+            rs -> {
+                long id = rs.getLong(1);
+                userIds.add(id);
+                usersByUsername.put(rs.getString(2), id);
+            });
+        return new Lookups(categoryIds, categoriesByName, userIds, usersByUsername);
+    }
+
+    private record PendingRow(long line, Video video) {
+    }
+
+    private record Lookups(Set<Long> categoryIds, Map<String, Long> categoriesByName,
+                           Set<Long> userIds, Map<String, Long> usersByUsername) {
+
+        // An id wins over a name that happens to be numeric; category names ignore case
+        Long category(String value) {
+            Long id = resolveId(value, categoryIds);
+            return id != null || value == null ? id : categoriesByName.get(value.toLowerCase(Locale.ROOT));
+        }
+
+        Long user(String value) {
+            Long id = resolveId(value, userIds);
+            return id != null || value == null ? id : usersByUsername.get(value);
+        }
+
+        private static Long resolveId(String value, Set<Long> ids) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                long id = Long.parseLong(value);
+                return ids.contains(id) ? id : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
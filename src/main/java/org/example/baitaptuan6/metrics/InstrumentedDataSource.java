@@ -0,0 +1,123 @@
+package org.example.baitaptuan6.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts every statement execution (StatementCounter, QueryBudget) and logs slow ones,
+// Hibernate and JdbcTemplate alike. Executions at or above the threshold are all counted,
+// a sample of them (sampleRate, 1 = all) is logged with the SQL.
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger("org.example.baitaptuan6.sql.slow");
+
+    private static final int MAX_LOGGED_SQL = 2000;
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+
+    public InstrumentedDataSource(DataSource target, long slowThresholdMs, double sampleRate) {
+        super(target);
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+        this.sampleRate = sampleRate;
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getSlowStatements() {
+        return slowStatements.sum();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrumented(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrumented(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection instrumented(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+            new Class<?>[] {ConnectionProxy.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "createStatement", "prepareStatement", "prepareCall" -> {
+                    Statement statement = (Statement) invoke(target, method, args);
+                    String sql = method.getName().equals("createStatement") ? null : (String) args[0];
+                    yield Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                        new Class<?>[] {method.getReturnType()}, new StatementHandler(statement, sql));
+                }
+                case "getTargetConnection" -> target;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Instrumented connection [" + target + "]";
+                default -> invoke(target, method, args);
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> InstrumentedDataSource.invoke(target, method, args);
+                };
+            }
+            String sql = preparedSql != null ? preparedSql
+                : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            StatementCounter.increment();
+            statements.increment();
+            QueryBudget.record(sql);
+            long start = System.nanoTime();
+            try {
+                return InstrumentedDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (elapsed >= slowThresholdNanos) {
+                    slowStatements.increment();
+                    if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                        String logged = sql != null ? sql : "(batch)";
+                        log.warn("Slow statement ({} ms, {}): {}", elapsed / 1_000_000, method.getName(),
+                            logged.length() > MAX_LOGGED_SQL ? logged.substring(0, MAX_LOGGED_SQL) + "..." : logged);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.baitaptuan6.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Rows for the admin metrics page, read from the meter registry, busiest first
+@Component
+public class MetricsReport {
+
+    static final String REPOSITORY_METRIC = "spring.data.repository.invocations";
+
+    // One timer or summary: owner is the repository, service or HTTP method, name the method or route
+    public record Row(String owner, String name, String outcome, long count, double total,
+                      double mean, double max, double p95, double p99) {
+
+        public boolean hasPercentiles() {
+            return !Double.isNaN(p95) && !Double.isNaN(p99);
+        }
+    }
+
+    // Second-level cache region: hits, misses and puts since startup
+    public record CacheRegion(String name, long hits, long misses, long puts) {
+
+        public double getHitRate() {
+            return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<Row> repositoryTimers() {
+        return timers(meterRegistry.find(REPOSITORY_METRIC).timers(),
+            timer -> timer.getId().getTag("repository"), timer -> timer.getId().getTag("method"),
+            timer -> timer.getId().getTag("exception"));
+    }
+
+    public List<Row> serviceTimers() {
+        return timers(meterRegistry.find(ServiceMetricsAspect.METRIC).timers(),
+            timer -> timer.getId().getTag("service"), timer -> timer.getId().getTag("method"),
+            timer -> timer.getId().getTag("exception"));
+    }
+
+    // Statements per request by route, most statements in total first
+    public List<Row> statementsPerRequest() {
+        Collection<DistributionSummary> summaries = meterRegistry.find(RequestStatementsFilter.METRIC).summaries();
+        return summaries.stream()
+            .map(summary -> {
+                HistogramSnapshot snapshot = summary.takeSnapshot();
+                return new Row(summary.getId().getTag("method"), summary.getId().getTag("uri"), null,
+                    snapshot.count(), snapshot.total(), snapshot.mean(), snapshot.max(),
+                    percentile(snapshot, 0.95, null), percentile(snapshot, 0.99, null));
+            })
+            .sorted(Comparator.comparingDouble(Row::total).reversed())
+            .toList();
+    }
+
+    // Hibernate session statistics since startup, by label
+    public Map<String, Long> hibernateStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("Entity đã tải", statistics.getEntityLoadCount());
+        values.put("Entity đã fetch", statistics.getEntityFetchCount());
+        values.put("Truy vấn", statistics.getQueryExecutionCount());
+        values.put("Câu lệnh chuẩn bị", statistics.getPrepareStatementCount());
+        values.put("Flush", statistics.getFlushCount());
+        values.put("Giao dịch", statistics.getTransactionCount());
+        values.put("Cache L2 trúng", statistics.getSecondLevelCacheHitCount());
+        values.put("Cache L2 trượt", statistics.getSecondLevelCacheMissCount());
+        values.put("Cache L2 ghi", statistics.getSecondLevelCachePutCount());
+        values.put("Query cache trúng", statistics.getQueryCacheHitCount());
+        values.put("Query cache trượt", statistics.getQueryCacheMissCount());
+        values.put("Phiên mở", statistics.getSessionOpenCount());
+        values.put("Kết nối", statistics.getConnectCount());
+        values.put("Truy vấn chậm nhất (ms)", statistics.getQueryExecutionMaxTime());
+        return values;
+    }
+
+    public List<CacheRegion> cacheRegions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(name -> {
+                CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                return region == null ? null : new CacheRegion(name, region.getHitCount(), region.getMissCount(), region.getPutCount());
+            })
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    // Times in milliseconds
+    private static List<Row> timers(Collection<Timer> timers, Function<Timer, String> owner,
+                                    Function<Timer, String> name, Function<Timer, String> outcome) {
+        return timers.stream()
+            .filter(timer -> timer.count() > 0)
+            .map(timer -> {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                return new Row(owner.apply(timer), name.apply(timer), outcome.apply(timer), snapshot.count(),
+                    snapshot.total(TimeUnit.MILLISECONDS), snapshot.mean(TimeUnit.MILLISECONDS),
+                    snapshot.max(TimeUnit.MILLISECONDS), percentile(snapshot, 0.95, TimeUnit.MILLISECONDS),
+                    percentile(snapshot, 0.99, TimeUnit.MILLISECONDS));
+            })
+            .sorted(Comparator.comparingDouble(Row::total).reversed())
+            .toList();
+    }
+
+    // NaN when the percentile is not configured for the meter
+    private static double percentile(HistogramSnapshot snapshot, double percentile, TimeUnit unit) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return unit != null ? value.value(unit) : value.value();
+            }
+        }
+        return Double.NaN;
+    }
+}
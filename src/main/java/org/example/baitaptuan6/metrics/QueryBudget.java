@@ -0,0 +1,114 @@
+package org.example.baitaptuan6.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Statement budget of one handler invocation, rendering included. Every statement the
+// thread executes while the budget is open is counted, and also grouped by its shape (the SQL
+// with literals and IN lists collapsed), so that an N+1 shows up as one shape repeated N times.
+// A budget that fails fast throws before running the first statement over the limits.
+public class QueryBudget {
+
+    private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int MAX_REPORTED_SHAPES = 3;
+    private static final int MAX_SHAPE_LENGTH = 200;
+
+    private final String handler;
+    private final int maxStatements;
+    private final int maxRepeats;
+    private final boolean failFast;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private int statements;
+    private String violation;
+
+    public QueryBudget(String handler, int maxStatements, int maxRepeats, boolean failFast) {
+        this.handler = handler;
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+        this.failFast = failFast;
+    }
+
+    // Start counting the statements of the current thread against this budget
+    public void open() {
+        CURRENT.set(this);
+    }
+
+    public void close() {
+        CURRENT.remove();
+    }
+
+    // Called by InstrumentedDataSource before each execution; sql is null for a batch
+    static void record(String sql) {
+        QueryBudget budget = CURRENT.get();
+        if (budget != null) {
+            budget.add(sql);
+        }
+    }
+
+    private void add(String sql) {
+        statements++;
+        String shape = sql != null ? shape(sql) : "(batch)";
+        int repeats = shapes.merge(shape, 1, Integer::sum);
+        if (violation != null) {
+            return;
+        }
+        if (statements > maxStatements) {
+            violation = statements + " statements, budget " + maxStatements;
+        } else if (repeats > maxRepeats) {
+            violation = "statement repeated " + repeats + " times, budget " + maxRepeats + ": " + abbreviate(shape);
+        } else {
+            return;
+        }
+        // Thrown once, the error handling that follows may still need the database
+        if (failFast) {
+            throw new QueryBudgetExceededException(handler + ": " + violation);
+        }
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public boolean isExceeded() {
+        return violation != null;
+    }
+
+    public String getViolation() {
+        return violation;
+    }
+
+    // Most repeated shapes with their counts, for the log
+    public String describeShapes() {
+        return shapes.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+            .limit(MAX_REPORTED_SHAPES)
+            .map(entry -> entry.getValue() + "x " + abbreviate(entry.getKey()))
+            .collect(Collectors.joining("; "));
+    }
+
+    // SQL with literals replaced by ? and IN lists of any length reduced to (?)
+    public static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.baitaptuan6.metrics;
+
+// A handler ran more statements than its query budget allows (app.query-budget.mode=fail)
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
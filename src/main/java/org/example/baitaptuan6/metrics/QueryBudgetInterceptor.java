@@ -0,0 +1,81 @@
+package org.example.baitaptuan6.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+// Holds the handlers of the listed controllers to a query budget (app.query-budget.*):
+// at most max-statements statements per request, and no statement shape more than
+// max-repeats times. In fail mode (dev, tests) the statement over the budget throws
+// QueryBudgetExceededException; in log mode the request completes and the handler is
+// logged with its most repeated statements and counted as app.http.query-budget.exceeded.
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    static final String METRIC = "app.http.query-budget.exceeded";
+
+    private static final String ATTRIBUTE = QueryBudget.class.getName();
+
+    public enum Mode { OFF, LOG, FAIL }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-budget.mode:log}")
+    private Mode mode;
+
+    @Value("${app.query-budget.controllers:AdminVideoController,AdminCategoryController,AdminUserController,HomeController}")
+    private Set<String> controllers;
+
+    // Handlers (Controller#method) that legitimately run many statements, e.g. imports
+    @Value("${app.query-budget.exclude:AdminVideoController#importVideos}")
+    private Set<String> excluded;
+
+    @Value("${app.query-budget.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${app.query-budget.max-repeats:5}")
+    private int maxRepeats;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (mode == Mode.OFF || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        String controller = method.getBeanType().getSimpleName();
+        String name = controller + "#" + method.getMethod().getName();
+        if (!controllers.contains(controller) || excluded.contains(name)) {
+            return true;
+        }
+        QueryBudget budget = new QueryBudget(name, maxStatements, maxRepeats, mode == Mode.FAIL);
+        budget.open();
+        request.setAttribute(ATTRIBUTE, budget);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(ATTRIBUTE) instanceof QueryBudget budget)) {
+            return;
+        }
+        budget.close();
+        request.removeAttribute(ATTRIBUTE);
+        if (budget.isExceeded()) {
+            log.warn("Query budget exceeded by {} ({} {}): {}. Most repeated: {}", budget.getHandler(),
+                request.getMethod(), request.getRequestURI(), budget.getViolation(), budget.describeShapes());
+            meterRegistry.counter(METRIC, "handler", budget.getHandler()).increment();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.baitaptuan6.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records the JDBC statements each request executed (app.http.statements), per route.
+// Rendering is included, so lazy loads from the views count too.
+@Component
+public class RequestStatementsFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "app.http.statements";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", route != null ? route.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(StatementCounter.get());
+        }
+    }
+}
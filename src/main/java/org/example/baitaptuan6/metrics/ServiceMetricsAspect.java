@@ -0,0 +1,40 @@
+package org.example.baitaptuan6.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Times every public method of the *Service classes as app.service.invocations, tagged with
+// the service, the method and the exception thrown (or "none"). Repository methods are
+// timed by Spring Boot as spring.data.repository.invocations.
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String METRIC = "app.service.invocations";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("within(org.example.baitaptuan6.service.*Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.baitaptuan6.metrics;
+
+// JDBC statements executed by the current thread since the last reset. Work handed to
+// other threads (task executor, cascade jobs) is counted there, not by the caller.
+public final class StatementCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private StatementCounter() {
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static long get() {
+        return COUNT.get()[0];
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.baitaptuan6.paging;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Page whose total was not counted: either a planner estimate or only known to exceed this page
+public class ApproximatePage<T> extends PageImpl<T> {
+
+    public static final String EXACT = "exact";
+    public static final String ESTIMATE = "estimate";
+    public static final String AT_LEAST = "atLeast";
+
+    private final boolean estimated;
+
+    private ApproximatePage(List<T> content, Pageable pageable, long total, boolean estimated) {
+        super(content, pageable, total);
+        this.estimated = estimated;
+    }
+
+    // Total is offset + rows seen, plus one more row when the slice says there is a next page
+    public static <T> Page<T> fromSlice(Slice<T> slice) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), seen);
+        }
+        return new ApproximatePage<>(slice.getContent(), slice.getPageable(), seen + 1, false);
+    }
+
+    // Total from an estimate, never less than what the slice proves exists
+    public static <T> Page<T> fromSlice(Slice<T> slice, long estimatedTotal) {
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return new PageImpl<>(slice.getContent(), slice.getPageable(), seen);
+        }
+        return new ApproximatePage<>(slice.getContent(), slice.getPageable(), Math.max(estimatedTotal, seen + 1), true);
+    }
+
+    // Keep the approximate total when converting the content
+    @Override
+    public <U> Page<U> map(Function<? super T, ? extends U> converter) {
+        return new ApproximatePage<>(getContent().stream().<U>map(converter).toList(), getPageable(),
+            getTotalElements(), estimated);
+    }
+
+    public boolean isEstimated() {
+        return estimated;
+    }
+
+    // How a template should label the total of a page: exact, estimate or atLeast
+    public static String totalKind(Page<?> page) {
+        if (page instanceof ApproximatePage<?> approximate) {
+            return approximate.isEstimated() ? ESTIMATE : AT_LEAST;
+        }
+        return EXACT;
+    }
+}
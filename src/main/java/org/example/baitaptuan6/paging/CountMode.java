@@ -0,0 +1,11 @@
+package org.example.baitaptuan6.paging;
+
+// How offset pages obtain their total, selected with app.pagination.count
+public enum CountMode {
+    // SELECT COUNT(*) with the page query's predicate
+    EXACT,
+    // No count, fetch one extra row to know whether a next page exists
+    SLICE,
+    // Like SLICE, but unfiltered lists take their total from the planner's row estimate
+    ESTIMATE
+}
@@ -0,0 +1,122 @@
+package org.example.baitaptuan6.paging;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Opaque, URL-safe encoding of a keyset position: the last sort key plus id of a page,
+// the direction to scroll from there and the sort the keys belong to.
+public final class KeysetCursor {
+
+    private static final byte FORWARD = 'F';
+    private static final byte BACKWARD = 'B';
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(KeysetScrollPosition position, Sort sort) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(position.scrollsForward() ? FORWARD : BACKWARD);
+            out.writeUTF(signature(sort));
+            out.writeByte(position.getKeys().size());
+            for (Map.Entry<String, ?> entry : position.getKeys().entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Decode a cursor issued for the given sort, an absent or malformed cursor means the first page.
+    // The keys of a cursor only make sense under the sort they were read with, so a cursor from
+    // another sort (a stale link after the sort changed) also starts over.
+    public static ScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)));
+            byte direction = in.readByte();
+            if (!in.readUTF().equals(signature(sort))) {
+                return ScrollPosition.keyset();
+            }
+            int count = in.readByte();
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                keys.put(in.readUTF(), readValue(in));
+            }
+            return direction == BACKWARD ? ScrollPosition.backward(keys) : ScrollPosition.forward(keys);
+        } catch (IOException | IllegalArgumentException e) {
+            return ScrollPosition.keyset();
+        }
+    }
+
+    // Sort on a supported non-null column with id as tie breaker, so every position is unique
+    public static Sort sort(String sortBy, String sortDir, Set<String> supported) {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        if (!supported.contains(sortBy) || "id".equals(sortBy)) {
+            return Sort.by(direction, "id");
+        }
+        return Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+    }
+
+    // "title:ASC,id:ASC"
+    private static String signature(Sort sort) {
+        StringBuilder signature = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (signature.length() > 0) {
+                signature.append(',');
+            }
+            signature.append(order.getProperty()).append(':').append(order.getDirection());
+        }
+        return signature.toString();
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Long l) {
+            out.writeByte('L');
+            out.writeLong(l);
+        } else if (value instanceof Integer i) {
+            out.writeByte('I');
+            out.writeInt(i);
+        } else if (value instanceof String s) {
+            out.writeByte('S');
+            out.writeUTF(s);
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte('T');
+            out.writeUTF(t.toString());
+        } else if (value instanceof Boolean b) {
+            out.writeByte('B');
+            out.writeBoolean(b);
+        } else {
+            throw new IllegalArgumentException("Unsupported keyset value: " + value);
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case 'L' -> in.readLong();
+            case 'I' -> in.readInt();
+            case 'S' -> in.readUTF();
+            case 'T' -> LocalDateTime.parse(in.readUTF());
+            case 'B' -> in.readBoolean();
+            default -> throw new IllegalArgumentException("Unknown keyset value type: " + type);
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.baitaptuan6.paging;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset scroll with cursors to its neighbours (null when there is none)
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final String previousCursor;
+
+    public KeysetPage(List<T> content, String nextCursor, String previousCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    public static <T> KeysetPage<T> of(Window<T> window, ScrollPosition requested, Sort sort) {
+        if (window.isEmpty()) {
+            return new KeysetPage<>(List.of(), null, null);
+        }
+        KeysetScrollPosition first = (KeysetScrollPosition) window.positionAt(0);
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        String next = KeysetCursor.encode(ScrollPosition.forward(last.getKeys()), sort);
+        String previous = KeysetCursor.encode(ScrollPosition.backward(first.getKeys()), sort);
+
+        boolean backward = requested instanceof KeysetScrollPosition keyset && keyset.scrollsBackward();
+        // Window.hasNext() reports more rows in the direction that was scrolled
+        boolean hasNext = backward || window.hasNext();
+        boolean hasPrevious = backward ? window.hasNext() : !requested.isInitial();
+        return new KeysetPage<>(window.getContent(), hasNext ? next : null, hasPrevious ? previous : null);
+    }
+
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(content.stream().<U>map(converter).toList(), nextCursor, previousCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.baitaptuan6.paging;
+
+// How admin list pages are paged, selected with app.pagination.mode
+public enum PaginationMode {
+    // LIMIT/OFFSET pages with page numbers
+    OFFSET,
+    // Seek from an opaque cursor with previous/next links, constant cost at any depth
+    KEYSET
+}
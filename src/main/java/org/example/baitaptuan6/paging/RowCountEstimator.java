@@ -0,0 +1,55 @@
+package org.example.baitaptuan6.paging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Number of active rows in a table according to the PostgreSQL planner statistics.
+// Costs a plan, not a scan; accuracy depends on how recently the table was analyzed.
+@Component
+public class RowCountEstimator {
+
+    private static final Set<String> TABLES = Set.of("videos", "users", "categories");
+
+    private final Map<String, long[]> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.pagination.estimate-ttl-ms:60000}")
+    private long ttlMillis;
+
+    public long estimateActive(String table) {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Unknown table: " + table);
+        }
+        long now = System.currentTimeMillis();
+        long[] cached = cache.get(table);
+        if (cached != null && now - cached[1] < ttlMillis) {
+            return cached[0];
+        }
+        long estimate = explainRows("SELECT 1 FROM " + table + " WHERE is_active = true");
+        cache.put(table, new long[]{estimate, now});
+        return estimate;
+    }
+
+    private long explainRows(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.get(0).get("Plan").get("Plan Rows").asLong();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read row estimate from plan", e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.baitaptuan6.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Scores for every item plus an ordered set of the best `capacity` of them.
+// Score updates cost O(log K); reading a range of the top costs O(offset + limit).
+// Removing a member of the top rescans all scores to refill it, which is only
+// expected for deactivated or deleted items.
+public class Leaderboard {
+
+    // Highest score first, ties broken by the lower id
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+        .thenComparingLong(Entry::id);
+
+    private final int capacity;
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Entry> top = new TreeSet<>(ORDER);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public Leaderboard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // Add delta to the score of a known item; ids never set (or removed) are ignored
+    public void add(long id, double delta) {
+        lock.writeLock().lock();
+        try {
+            Double previous = scores.get(id);
+            if (previous != null) {
+                update(id, previous, previous + delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replace the score of an item
+    public void set(long id, double score) {
+        lock.writeLock().lock();
+        try {
+            update(id, scores.get(id), score);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Double previous = scores.remove(id);
+            if (previous != null && top.remove(new Entry(id, previous))) {
+                refill();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            scores.clear();
+            top.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Multiply every score by factor (> 0), which keeps the order
+    public void rescale(double factor) {
+        lock.writeLock().lock();
+        try {
+            scores.replaceAll((id, score) -> score * factor);
+            List<Entry> members = new ArrayList<>(top);
+            top.clear();
+            for (Entry entry : members) {
+                top.add(new Entry(entry.id(), entry.score() * factor));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return scores.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids ranked offset .. offset + limit - 1, best first
+    public List<Long> top(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.max(0, Math.min(limit, top.size() - offset)));
+            Iterator<Entry> it = top.iterator();
+            for (int i = 0; it.hasNext() && i < offset + limit; i++) {
+                Entry entry = it.next();
+                if (i >= offset) {
+                    ids.add(entry.id());
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of ranked items, at most the capacity
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return top.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(long id, Double previous, double score) {
+        scores.put(id, score);
+        if (previous != null && top.remove(new Entry(id, previous))) {
+            top.add(new Entry(id, score));
+            // A member whose score dropped may now rank below an outsider
+            if (score < previous) {
+                refill();
+            }
+            return;
+        }
+        Entry entry = new Entry(id, score);
+        if (top.size() < capacity) {
+            top.add(entry);
+        } else if (ORDER.compare(entry, top.last()) < 0) {
+            top.add(entry);
+            top.pollLast();
+        }
+    }
+
+    // Rebuild the top from all scores
+    private void refill() {
+        top.clear();
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            Entry entry = new Entry(score.getKey(), score.getValue());
+            if (top.size() < capacity) {
+                top.add(entry);
+            } else if (ORDER.compare(entry, top.last()) < 0) {
+                top.add(entry);
+                top.pollLast();
+            }
+        }
+    }
+
+    private record Entry(long id, double score) {
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.baitaptuan6.ranking;
+
+import jakarta.annotation.PostConstruct;
+import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory leaderboards of the active videos: all-time views, all-time likes and a
+// time-decayed trending score. Built from the database on startup, then fed by the
+// view and like paths and the video change hooks after each commit.
+//
+// Trending uses forward decay: an event at time t adds weight * 2^((t - landmark) / halfLife),
+// so older events lose half their weight every half-life relative to new ones without
+// touching the stored scores. The landmark moves forward (and the scores are rescaled)
+// before the multiplier grows too large for a double. Trending writes compute their weight
+// and apply it under the same lock as the rescale, so no score weighted against the old
+// landmark can land after it.
+@Component
+public class VideoRankings {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoRankings.class);
+
+    // Half-lives after which the landmark is moved, 2^64 is far from the double range
+    private static final long RENORMALIZE_AFTER = 64;
+
+    public enum Board { VIEWS, LIKES, TRENDING }
+
+    private final Map<Board, Leaderboard> boards = new EnumMap<>(Board.class);
+
+    // Guards the landmark and every write to the trending board
+    private final Object trendingLock = new Object();
+
+    private long landmark;
+    private volatile boolean ready;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.ranking.capacity:100}")
+    private int capacity;
+
+    @Value("${app.ranking.trending.half-life:6h}")
+    private Duration halfLife;
+
+    @Value("${app.ranking.trending.like-weight:5}")
+    private double likeWeight;
+
+    @PostConstruct
+    void init() {
+        for (Board board : Board.values()) {
+            boards.put(board, new Leaderboard(capacity));
+        }
+        landmark = System.currentTimeMillis();
+    }
+
+    // Reads fall back to the database until the first build completes
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.currentTimeMillis();
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(10000);
+        cursor.query("SELECT id, views, likes, created_at FROM videos WHERE is_active = true",
+            rs -> {
+                Timestamp createdAt = rs.getTimestamp(4);
+                put(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                    createdAt != null ? createdAt.getTime() : start);
+            });
+        ready = true;
+        log.info("Built video rankings ({} videos ranked, trending half-life {}) in {} ms",
+            boards.get(Board.VIEWS).size(), halfLife, System.currentTimeMillis() - start);
+    }
+
+    // Ids ranked offset .. offset + limit - 1 on a board, best first
+    public List<Long> top(Board board, int offset, int limit) {
+        return boards.get(board).top(offset, limit);
+    }
+
+    // Number of ranked videos on a board, at most the capacity
+    public int size(Board board) {
+        return boards.get(board).size();
+    }
+
+    public void recordViews(Long id, long count) {
+        AfterCommit.run(() -> {
+            boards.get(Board.VIEWS).add(id, count);
+            addTrending(id, count, System.currentTimeMillis());
+        });
+    }
+
+    public void recordLikes(Long id, long count) {
+        AfterCommit.run(() -> {
+            boards.get(Board.LIKES).add(id, count);
+            addTrending(id, count * likeWeight, System.currentTimeMillis());
+        });
+    }
+
+    // Rank the video if active, drop it otherwise
+    public void onVideoChanged(Video video) {
+        Long id = video.getId();
+        boolean active = Boolean.TRUE.equals(video.getIsActive());
+        long views = video.getViews() != null ? video.getViews() : 0L;
+        long likes = video.getLikes() != null ? video.getLikes() : 0L;
+        LocalDateTime createdAt = video.getCreatedAt();
+        AfterCommit.run(() -> {
+            if (!active) {
+                remove(id);
+            } else if (!boards.get(Board.VIEWS).contains(id)) {
+                put(id, views, likes, createdAt != null
+                    ? createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : System.currentTimeMillis());
+            }
+        });
+    }
+
+    public void onVideoRemoved(Long id) {
+        AfterCommit.run(() -> remove(id));
+    }
+
+    // Existing totals count as if they happened when the video was created
+    private void put(long id, long views, long likes, long createdAtMillis) {
+        boards.get(Board.VIEWS).set(id, views);
+        boards.get(Board.LIKES).set(id, likes);
+        synchronized (trendingLock) {
+            boards.get(Board.TRENDING).set(id, (views + likes * likeWeight) * weightAt(createdAtMillis));
+        }
+    }
+
+    private void addTrending(long id, double score, long millis) {
+        synchronized (trendingLock) {
+            boards.get(Board.TRENDING).add(id, score * weightAt(millis));
+        }
+    }
+
+    private void remove(long id) {
+        for (Leaderboard board : boards.values()) {
+            board.remove(id);
+        }
+    }
+
+    // Callers hold trendingLock
+    private double weightAt(long millis) {
+        long halfLifeMillis = halfLife.toMillis();
+        if (millis - landmark > RENORMALIZE_AFTER * halfLifeMillis) {
+            renormalize(millis, halfLifeMillis);
+        }
+        return Math.pow(2.0, (double) (millis - landmark) / halfLifeMillis);
+    }
+
+    private void renormalize(long millis, long halfLifeMillis) {
+        long shift = (millis - landmark) / halfLifeMillis;
+        boards.get(Board.TRENDING).rescale(Math.pow(2.0, -shift));
+        landmark += shift * halfLifeMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.baitaptuan6.repository;
+
+import org.example.baitaptuan6.entity.CascadeJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CascadeJobRepository extends JpaRepository<CascadeJob, Long> {
+    
+    // Most recent jobs first
+    List<CascadeJob> findAllByOrderByIdDesc(Pageable pageable);
+    
+    // Jobs to resume on startup, in the order they were created
+    List<CascadeJob> findByStatusInOrderByIdAsc(Collection<CascadeJob.Status> statuses);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE CascadeJob j SET j.status = :status, j.error = :error, j.updatedAt = :now WHERE j.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") CascadeJob.Status status,
+                     @Param("error") String error, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE CascadeJob j SET j.processed = j.processed + :delta, j.updatedAt = :now WHERE j.id = :id")
+    int addProgress(@Param("id") Long id, @Param("delta") long delta, @Param("now") LocalDateTime now);
+}
@@ -1,32 +1,85 @@
 package org.example.baitaptuan6.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.baitaptuan6.entity.Category;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
-    // Find active categories
+    // Find active categories (query cache)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByIsActiveTrue();
     
     // Find active categories with pagination
     Page<Category> findByIsActiveTrue(Pageable pageable);
     
+    // Active categories without a count query
+    Slice<Category> findSliceByIsActiveTrue(Pageable pageable);
+    
+    // Keyset scroll over active categories
+    Window<Category> findByIsActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+    
     // Search categories by name or description
     @Query("SELECT c FROM Category c WHERE c.isActive = true AND " +
            "(LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Category> searchActiveCategories(@Param("keyword") String keyword, Pageable pageable);
     
-    // Find category by name (case insensitive)
+    // Search categories without a count query
+    @Query("SELECT c FROM Category c WHERE c.isActive = true AND " +
+           "(LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Slice<Category> searchActiveCategoriesSlice(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Full-text search ranked by relevance (query is a tsquery, see FullTextQuery)
+    @Query(value = "SELECT c.* FROM categories c WHERE c.is_active = true " +
+                   "AND c.search_vector @@ to_tsquery('simple', f_unaccent(:query)) " +
+                   "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', f_unaccent(:query))) DESC, c.id",
+           countQuery = "SELECT COUNT(*) FROM categories c WHERE c.is_active = true " +
+                        "AND c.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Page<Category> fullTextSearchActiveCategoriesRanked(@Param("query") String query, Pageable pageable);
+    
+    // Full-text search ordered by the pageable sort (column names)
+    @Query(value = "SELECT c.* FROM categories c WHERE c.is_active = true " +
+                   "AND c.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           countQuery = "SELECT COUNT(*) FROM categories c WHERE c.is_active = true " +
+                        "AND c.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Page<Category> fullTextSearchActiveCategories(@Param("query") String query, Pageable pageable);
+    
+    // Ranked full-text search without a count query
+    @Query(value = "SELECT c.* FROM categories c WHERE c.is_active = true " +
+                   "AND c.search_vector @@ to_tsquery('simple', f_unaccent(:query)) " +
+                   "ORDER BY ts_rank(c.search_vector, to_tsquery('simple', f_unaccent(:query))) DESC, c.id",
+           nativeQuery = true)
+    Slice<Category> fullTextSearchActiveCategoriesRankedSlice(@Param("query") String query, Pageable pageable);
+    
+    // Sorted full-text search without a count query
+    @Query(value = "SELECT c.* FROM categories c WHERE c.is_active = true " +
+                   "AND c.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Slice<Category> fullTextSearchActiveCategoriesSlice(@Param("query") String query, Pageable pageable);
+    
+    // Find category by name (case insensitive, query cache)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByNameIgnoreCase(String name);
     
     // Check if category exists by name (excluding current category for update)
@@ -38,4 +91,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     // Find categories by name containing (case insensitive)
     List<Category> findByNameContainingIgnoreCaseAndIsActiveTrue(String name);
+    
+    // Load one page of the given ids (used to hydrate search index hits)
+    List<Category> findByIdInAndIsActiveTrue(Collection<Long> ids, Pageable pageable);
 }
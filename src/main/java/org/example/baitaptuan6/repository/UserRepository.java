@@ -1,13 +1,19 @@
 package org.example.baitaptuan6.repository;
 
 import org.example.baitaptuan6.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +32,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find active users with pagination
     Page<User> findByIsActiveTrue(Pageable pageable);
     
+    // Active users without a count query
+    Slice<User> findSliceByIsActiveTrue(Pageable pageable);
+    
+    // Keyset scroll over active users
+    Window<User> findByIsActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+    
     // Search users by username, email, or full name
     @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
            "(LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -33,12 +45,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<User> searchActiveUsers(@Param("keyword") String keyword, Pageable pageable);
     
+    // Search users without a count query
+    @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
+           "(LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Slice<User> searchActiveUsersSlice(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Full-text search ranked by relevance (query is a tsquery, see FullTextQuery)
+    @Query(value = "SELECT u.* FROM users u WHERE u.is_active = true " +
+                   "AND u.search_vector @@ to_tsquery('simple', f_unaccent(:query)) " +
+                   "ORDER BY ts_rank(u.search_vector, to_tsquery('simple', f_unaccent(:query))) DESC, u.id",
+           countQuery = "SELECT COUNT(*) FROM users u WHERE u.is_active = true " +
+                        "AND u.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Page<User> fullTextSearchActiveUsersRanked(@Param("query") String query, Pageable pageable);
+    
+    // Full-text search ordered by the pageable sort (column names)
+    @Query(value = "SELECT u.* FROM users u WHERE u.is_active = true " +
+                   "AND u.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           countQuery = "SELECT COUNT(*) FROM users u WHERE u.is_active = true " +
+                        "AND u.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Page<User> fullTextSearchActiveUsers(@Param("query") String query, Pageable pageable);
+    
+    // Ranked full-text search without a count query
+    @Query(value = "SELECT u.* FROM users u WHERE u.is_active = true " +
+                   "AND u.search_vector @@ to_tsquery('simple', f_unaccent(:query)) " +
+                   "ORDER BY ts_rank(u.search_vector, to_tsquery('simple', f_unaccent(:query))) DESC, u.id",
+           nativeQuery = true)
+    Slice<User> fullTextSearchActiveUsersRankedSlice(@Param("query") String query, Pageable pageable);
+    
+    // Sorted full-text search without a count query
+    @Query(value = "SELECT u.* FROM users u WHERE u.is_active = true " +
+                   "AND u.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Slice<User> fullTextSearchActiveUsersSlice(@Param("query") String query, Pageable pageable);
+    
     // Find users by role
     List<User> findByRoleAndIsActiveTrue(User.UserRole role);
     
     // Find users by role with pagination
     Page<User> findByRoleAndIsActiveTrue(User.UserRole role, Pageable pageable);
     
+    // Users by role without a count query
+    Slice<User> findSliceByRoleAndIsActiveTrue(User.UserRole role, Pageable pageable);
+    
+    // Keyset scroll over users by role
+    Window<User> findByRoleAndIsActiveTrue(User.UserRole role, ScrollPosition position, Sort sort, Limit limit);
+    
     // Check if username exists (excluding current user for update)
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.username = :username AND u.id != :id")
     boolean existsByUsernameAndIdNot(@Param("username") String username, @Param("id") Long id);
@@ -52,4 +107,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Count users by role
     long countByRoleAndIsActiveTrue(User.UserRole role);
+    
+    // Load one page of the given ids (used to hydrate search index hits)
+    List<User> findByIdInAndIsActiveTrue(Collection<Long> ids, Pageable pageable);
 }
@@ -0,0 +1,29 @@
+package org.example.baitaptuan6.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.baitaptuan6.entity.VideoLike;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VideoLikeRepository extends JpaRepository<VideoLike, VideoLike.Key> {
+    
+    // Check if user already liked the video
+    boolean existsByVideoIdAndUserId(Long videoId, Long userId);
+    
+    // Insert a like, returns 0 when the pair already exists. The native space keeps Hibernate
+    // from invalidating every second-level cache region after the statement.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "video_likes"))
+    @Query(value = "INSERT INTO video_likes (video_id, user_id, created_at) VALUES (:videoId, :userId, now()) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("videoId") Long videoId, @Param("userId") Long userId);
+    
+    // Count likes recorded for a video
+    long countByVideoId(Long videoId);
+}
@@ -1,48 +1,165 @@
 package org.example.baitaptuan6.repository;
 
+import org.example.baitaptuan6.dto.CategoryStats;
+import org.example.baitaptuan6.dto.VideoDetail;
+import org.example.baitaptuan6.dto.VideoKey;
+import org.example.baitaptuan6.dto.VideoListItem;
 import org.example.baitaptuan6.entity.Video;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VideoRepository extends JpaRepository<Video, Long> {
     
+    // Projection of a list row joined with its category and user
+    String LIST_ITEM_SELECT = "SELECT new org.example.baitaptuan6.dto.VideoListItem(" +
+        "v.id, v.title, v.description, v.views, v.likes, v.isActive, v.createdAt, c.id, c.name, u.id, u.fullName) " +
+        "FROM Video v JOIN v.category c JOIN v.user u ";
+    
+    // Projection of the detail page joined with its category and user
+    String DETAIL_SELECT = "SELECT new org.example.baitaptuan6.dto.VideoDetail(" +
+        "v.id, v.title, v.description, v.url, v.duration, v.views, v.likes, v.isActive, v.createdAt, v.updatedAt, " +
+        "c.id, c.name, u.id, u.fullName) " +
+        "FROM Video v JOIN v.category c JOIN v.user u ";
+    
+    String KEYWORD_FILTER = "(LOWER(v.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+        "LOWER(v.description) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+    
     // Find active videos
     List<Video> findByIsActiveTrue();
     
     // Find active videos with pagination
     Page<Video> findByIsActiveTrue(Pageable pageable);
     
+    // Active video rows
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true")
+    Page<VideoListItem> findActiveVideoItems(Pageable pageable);
+    
+    // Active video rows without a count query
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true")
+    Slice<VideoListItem> findActiveVideoItemsSlice(Pageable pageable);
+    
+    // Keyset scroll over active videos
+    Window<VideoKey> findKeysByIsActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+    
     // Search videos by title or description
     @Query("SELECT v FROM Video v WHERE v.isActive = true AND " +
            "(LOWER(v.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(v.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Video> searchActiveVideos(@Param("keyword") String keyword, Pageable pageable);
     
+    // Search video rows
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true AND " + KEYWORD_FILTER,
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true AND " + KEYWORD_FILTER)
+    Page<VideoListItem> searchActiveVideoItems(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Search video rows without a count query
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true AND " + KEYWORD_FILTER)
+    Slice<VideoListItem> searchActiveVideoItemsSlice(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Ids of a full-text search ranked by relevance (query is a tsquery, see FullTextQuery)
+    @Query(value = "SELECT v.id FROM videos v WHERE v.is_active = true " +
+                   "AND v.search_vector @@ to_tsquery('simple', f_unaccent(:query)) " +
+                   "ORDER BY ts_rank(v.search_vector, to_tsquery('simple', f_unaccent(:query))) DESC, v.id",
+           countQuery = "SELECT COUNT(*) FROM videos v WHERE v.is_active = true " +
+                        "AND v.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Page<Long> fullTextSearchActiveVideoIdsRanked(@Param("query") String query, Pageable pageable);
+    
+    // Ids of a full-text search ordered by the pageable sort (column names)
+    @Query(value = "SELECT v.id FROM videos v WHERE v.is_active = true " +
+                   "AND v.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           countQuery = "SELECT COUNT(*) FROM videos v WHERE v.is_active = true " +
+                        "AND v.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Page<Long> fullTextSearchActiveVideoIds(@Param("query") String query, Pageable pageable);
+    
+    // Ranked full-text search without a count query
+    @Query(value = "SELECT v.id FROM videos v WHERE v.is_active = true " +
+                   "AND v.search_vector @@ to_tsquery('simple', f_unaccent(:query)) " +
+                   "ORDER BY ts_rank(v.search_vector, to_tsquery('simple', f_unaccent(:query))) DESC, v.id",
+           nativeQuery = true)
+    Slice<Long> fullTextSearchActiveVideoIdsRankedSlice(@Param("query") String query, Pageable pageable);
+    
+    // Sorted full-text search without a count query
+    @Query(value = "SELECT v.id FROM videos v WHERE v.is_active = true " +
+                   "AND v.search_vector @@ to_tsquery('simple', f_unaccent(:query))",
+           nativeQuery = true)
+    Slice<Long> fullTextSearchActiveVideoIdsSlice(@Param("query") String query, Pageable pageable);
+    
     // Find videos by category
     List<Video> findByCategoryIdAndIsActiveTrue(Long categoryId);
     
     // Find videos by category with pagination
     Page<Video> findByCategoryIdAndIsActiveTrue(Long categoryId, Pageable pageable);
     
+    // Video rows by category
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true AND c.id = :categoryId",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true AND v.category.id = :categoryId")
+    Page<VideoListItem> findVideoItemsByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    // Video rows by category without a count query
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true AND c.id = :categoryId")
+    Slice<VideoListItem> findVideoItemsSliceByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    // Keyset scroll over videos by category
+    Window<VideoKey> findKeysByCategoryIdAndIsActiveTrue(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+    
     // Find videos by user
     List<Video> findByUserIdAndIsActiveTrue(Long userId);
     
     // Find videos by user with pagination
     Page<Video> findByUserIdAndIsActiveTrue(Long userId, Pageable pageable);
     
+    // Video rows by user
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true AND u.id = :userId",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true AND v.user.id = :userId")
+    Page<VideoListItem> findVideoItemsByUser(@Param("userId") Long userId, Pageable pageable);
+    
+    // Video rows by user without a count query
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true AND u.id = :userId")
+    Slice<VideoListItem> findVideoItemsSliceByUser(@Param("userId") Long userId, Pageable pageable);
+    
+    // Keyset scroll over videos by user
+    Window<VideoKey> findKeysByUserIdAndIsActiveTrue(Long userId, ScrollPosition position, Sort sort, Limit limit);
+    
     // Find videos by category and user
     List<Video> findByCategoryIdAndUserIdAndIsActiveTrue(Long categoryId, Long userId);
     
     // Find videos by category and user with pagination
     Page<Video> findByCategoryIdAndUserIdAndIsActiveTrue(Long categoryId, Long userId, Pageable pageable);
     
+    // Video rows by category and user
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true AND c.id = :categoryId AND u.id = :userId",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true " +
+                        "AND v.category.id = :categoryId AND v.user.id = :userId")
+    Page<VideoListItem> findVideoItemsByCategoryAndUser(@Param("categoryId") Long categoryId,
+                                                        @Param("userId") Long userId, Pageable pageable);
+    
+    // Video rows by category and user without a count query
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true AND c.id = :categoryId AND u.id = :userId")
+    Slice<VideoListItem> findVideoItemsSliceByCategoryAndUser(@Param("categoryId") Long categoryId,
+                                                              @Param("userId") Long userId, Pageable pageable);
+    
+    // Keyset scroll over videos by category and user
+    Window<VideoKey> findKeysByCategoryIdAndUserIdAndIsActiveTrue(Long categoryId, Long userId, ScrollPosition position, Sort sort, Limit limit);
+    
     // Find most viewed videos
     @Query("SELECT v FROM Video v WHERE v.isActive = true ORDER BY v.views DESC")
     Page<Video> findMostViewedVideos(Pageable pageable);
@@ -55,12 +172,58 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     @Query("SELECT v FROM Video v WHERE v.isActive = true ORDER BY v.createdAt DESC")
     Page<Video> findRecentVideos(Pageable pageable);
     
+    // Most viewed video rows
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true ORDER BY v.views DESC",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true")
+    Page<VideoListItem> findMostViewedVideoItems(Pageable pageable);
+    
+    // Most liked video rows
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true ORDER BY v.likes DESC",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true")
+    Page<VideoListItem> findMostLikedVideoItems(Pageable pageable);
+    
+    // Recent video rows
+    @Query(value = LIST_ITEM_SELECT + "WHERE v.isActive = true ORDER BY v.createdAt DESC",
+           countQuery = "SELECT COUNT(v) FROM Video v WHERE v.isActive = true")
+    Page<VideoListItem> findRecentVideoItems(Pageable pageable);
+    
+    // Active video rows for the given ids, in no particular order
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true AND v.id IN :ids")
+    List<VideoListItem> findVideoItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Detail view of a video
+    @Query(DETAIL_SELECT + "WHERE v.id = :id")
+    Optional<VideoDetail> findDetailById(@Param("id") Long id);
+    
     // Count active videos
     long countByIsActiveTrue();
     
     // Count videos by category
     long countByCategoryIdAndIsActiveTrue(Long categoryId);
     
+    // Video count, active count and view/like totals of a category in one aggregate
+    @Query("SELECT new org.example.baitaptuan6.dto.CategoryStats(COUNT(v), " +
+           "COALESCE(SUM(CASE WHEN v.isActive = true THEN 1L ELSE 0L END), 0L), " +
+           "COALESCE(SUM(v.views), 0L), COALESCE(SUM(v.likes), 0L)) " +
+           "FROM Video v WHERE v.category.id = :categoryId")
+    CategoryStats getCategoryStats(@Param("categoryId") Long categoryId);
+    
     // Count videos by user
     long countByUserIdAndIsActiveTrue(Long userId);
+    
+    // Atomically add views without loading the entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE Video v SET v.views = v.views + :delta WHERE v.id = :id")
+    int addViews(@Param("id") Long id, @Param("delta") long delta);
+    
+    // Atomically add likes without loading the entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE Video v SET v.likes = v.likes + :delta WHERE v.id = :id")
+    int addLikes(@Param("id") Long id, @Param("delta") long delta);
+    
+    // One page of the active video rows for the given ids (used to hydrate search index hits)
+    @Query(LIST_ITEM_SELECT + "WHERE v.isActive = true AND v.id IN :ids")
+    List<VideoListItem> findVideoItemsByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package org.example.baitaptuan6.search;
+
+import org.example.baitaptuan6.util.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Post-commit updates of an in-memory index that is built from the database on startup.
+// Updates committed before or during the build are held and replayed in order once it
+// finishes, so a row the build streamed before an update cannot overwrite the newer entry.
+final class BuildBuffer {
+
+    private List<Runnable> pending = new ArrayList<>();
+
+    // Apply the update after the current transaction commits, or after the build
+    void apply(Runnable update) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                if (pending != null) {
+                    pending.add(update);
+                    return;
+                }
+            }
+            update.run();
+        });
+    }
+
+    // Replay the held updates, later ones are applied directly
+    synchronized void finish() {
+        List<Runnable> updates = pending;
+        pending = null;
+        if (updates != null) {
+            updates.forEach(Runnable::run);
+        }
+    }
+}
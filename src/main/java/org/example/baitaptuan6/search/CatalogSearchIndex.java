@@ -0,0 +1,170 @@
+package org.example.baitaptuan6.search;
+
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.entity.Video;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Trigram indexes over the active videos, categories and users (app.search.mode=ngram).
+// Built from the database on startup and kept current by the services after each commit.
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    private final NgramIndex videos = new NgramIndex();
+    private final NgramIndex categories = new NgramIndex();
+    private final NgramIndex users = new NgramIndex();
+    private final BuildBuffer updates = new BuildBuffer();
+
+    private volatile boolean ready;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.search.mode:like}")
+    private SearchMode searchMode;
+
+    public boolean isEnabled() {
+        return searchMode == SearchMode.NGRAM;
+    }
+
+    // Queries are answered by the database until the first build completes
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            JdbcTemplate cursor = new JdbcTemplate(dataSource);
+            cursor.setFetchSize(10000);
+            cursor.query("SELECT id, title, description FROM videos WHERE is_active = true",
+                rs -> {
+                    videos.put(rs.getLong(1), rs.getString(2), rs.getString(3));
+                });
+            cursor.query("SELECT id, name, description FROM categories WHERE is_active = true",
+                rs -> {
+                    categories.put(rs.getLong(1), rs.getString(2), rs.getString(3));
+                });
+            cursor.query("SELECT id, username, email, full_name FROM users WHERE is_active = true",
+                rs -> {
+                    users.put(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                });
+        } finally {
+            updates.finish();
+        }
+        ready = true;
+        log.info("Built search index ({} videos, {} categories, {} users) in {} ms",
+            videos.size(), categories.size(), users.size(), System.currentTimeMillis() - start);
+    }
+
+    // Boxed ids for repository IN queries
+    public static List<Long> toIds(int[] ids) {
+        List<Long> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add((long) id);
+        }
+        return result;
+    }
+
+    public int[] searchVideos(String keyword) {
+        return videos.search(keyword);
+    }
+
+    public int[] searchCategories(String keyword) {
+        return categories.search(keyword);
+    }
+
+    public int[] searchUsers(String keyword) {
+        return users.search(keyword);
+    }
+
+    // Index the video if active, drop it otherwise
+    public void onVideoChanged(Video video) {
+        if (!isEnabled()) {
+            return;
+        }
+        Long id = video.getId();
+        boolean active = Boolean.TRUE.equals(video.getIsActive());
+        String title = video.getTitle();
+        String description = video.getDescription();
+        updates.apply(() -> {
+            if (active) {
+                videos.put(id, title, description);
+            } else {
+                videos.remove(id);
+            }
+        });
+    }
+
+    public void onVideoRemoved(Long id) {
+        if (isEnabled()) {
+            updates.apply(() -> videos.remove(id));
+        }
+    }
+
+    public void onCategoryChanged(Category category) {
+        if (!isEnabled()) {
+            return;
+        }
+        Long id = category.getId();
+        boolean active = Boolean.TRUE.equals(category.getIsActive());
+        String name = category.getName();
+        String description = category.getDescription();
+        updates.apply(() -> {
+            if (active) {
+                categories.put(id, name, description);
+            } else {
+                categories.remove(id);
+            }
+        });
+    }
+
+    public void onCategoryRemoved(Long id) {
+        if (isEnabled()) {
+            updates.apply(() -> categories.remove(id));
+        }
+    }
+
+    public void onUserChanged(User user) {
+        if (!isEnabled()) {
+            return;
+        }
+        Long id = user.getId();
+        boolean active = Boolean.TRUE.equals(user.getIsActive());
+        String username = user.getUsername();
+        String email = user.getEmail();
+        String fullName = user.getFullName();
+        updates.apply(() -> {
+            if (active) {
+                users.put(id, username, email, fullName);
+            } else {
+                users.remove(id);
+            }
+        });
+    }
+
+    public void onUserRemoved(Long id) {
+        if (isEnabled()) {
+            updates.apply(() -> users.remove(id));
+        }
+    }
+}
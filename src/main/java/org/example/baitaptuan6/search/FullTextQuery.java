@@ -0,0 +1,39 @@
+package org.example.baitaptuan6.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class FullTextQuery {
+
+    // Sort key that orders full-text results by ts_rank
+    public static final String RELEVANCE = "relevance";
+
+    private FullTextQuery() {
+    }
+
+    // Turn free text into a prefix tsquery ("huong dan" -> "huong:* & dan:*").
+    // Only letters and digits survive, so user input can never break the tsquery syntax.
+    // Returns null when the keyword has no searchable words.
+    public static String toPrefixQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        keyword.codePoints().forEach(cp -> {
+            if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else if (current.length() > 0) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+        });
+        if (current.length() > 0) {
+            terms.add(current.toString());
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return String.join(" & ", terms.stream().map(term -> term + ":*").toList());
+    }
+}
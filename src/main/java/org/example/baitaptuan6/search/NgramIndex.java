@@ -0,0 +1,217 @@
+package org.example.baitaptuan6.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram inverted index answering case and diacritic insensitive substring queries.
+// Each trigram maps to a sorted int posting list of document ids; a query intersects the lists
+// of its trigrams and verifies the survivors against the stored folded text.
+public class NgramIndex {
+
+    private static final int N = 3;
+
+    // Separates fields so no trigram of a keyword can span two of them
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Set once a document id does not fit the int posting lists; the index then misses
+    // that document and leaves every query to the database
+    private volatile boolean incomplete;
+
+    // Add or replace a document
+    public void put(long id, String... fields) {
+        if ((int) id != id) {
+            incomplete = true;
+            return;
+        }
+        int docId = (int) id;
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (text.length() > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(TextNormalizer.fold(field));
+        }
+        String folded = text.toString();
+
+        lock.writeLock().lock();
+        try {
+            String previous = documents.put(docId, folded);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    PostingList list = postings.get(gram);
+                    if (list != null && list.remove(docId) && list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (long gram : grams(folded)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove a document, no-op when absent
+    public void remove(long id) {
+        if ((int) id != id) {
+            return;
+        }
+        int docId = (int) id;
+        lock.writeLock().lock();
+        try {
+            String previous = documents.remove(docId);
+            if (previous == null) {
+                return;
+            }
+            for (long gram : grams(previous)) {
+                PostingList list = postings.get(gram);
+                if (list != null && list.remove(docId) && list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            incomplete = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids (ascending) of documents containing the keyword, or null when the keyword
+    // is shorter than a trigram or the index is incomplete and cannot answer it
+    public int[] search(String keyword) {
+        String folded = TextNormalizer.fold(keyword).strip();
+        if (incomplete || folded.length() < N || folded.indexOf(FIELD_SEPARATOR) >= 0) {
+            return null;
+        }
+        Set<Long> grams = grams(folded);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(grams.size());
+            for (long gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            int[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainAll(candidates, count);
+            }
+
+            // Trigram matches are necessary but not sufficient, confirm the substring
+            int matches = 0;
+            for (int i = 0; i < count; i++) {
+                if (documents.get(candidates[i]).contains(folded)) {
+                    candidates[matches++] = candidates[i];
+                }
+            }
+            return Arrays.copyOf(candidates, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + N <= text.length(); i++) {
+            long gram = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+            grams.add(gram);
+        }
+        return grams;
+    }
+
+    // Growable sorted array of document ids
+    private static final class PostingList {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        // Keep the first count sorted candidates that are also in this list, returns the new count
+        int retainAll(int[] candidates, int count) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count && j < size; i++) {
+                int candidate = candidates[i];
+                while (j < size && ids[j] < candidate) {
+                    j++;
+                }
+                if (j < size && ids[j] == candidate) {
+                    candidates[kept++] = candidate;
+                }
+            }
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.baitaptuan6.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// In-memory prefix index for typeahead lookups, case and diacritic insensitive.
+// Every word of every field starts a key ("Nguyễn Văn An" -> "nguyen van an", "van an", "an"),
+// so a query matches the start of any word. Keys live in a sorted skip list and a query
+// walks the range starting at its prefix until it has collected the requested number of ids.
+public class PrefixIndex<V> {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Sorts before any character a folded term can contain, so "an" + id precedes "ana..."
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Long> keys = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // Add or replace an entry
+    public synchronized void put(long id, V value, String... fields) {
+        remove(id);
+        Set<String> entryKeys = new LinkedHashSet<>();
+        for (String field : fields) {
+            String folded = normalize(field);
+            int start = 0;
+            while (start < folded.length()) {
+                entryKeys.add(folded.substring(start) + ID_SEPARATOR + id);
+                int space = folded.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+        }
+        String[] keyArray = entryKeys.toArray(new String[0]);
+        entries.put(id, new Entry<>(value, keyArray));
+        for (String key : keyArray) {
+            keys.put(key, id);
+        }
+    }
+
+    // Remove an entry, no-op when absent
+    public synchronized void remove(long id) {
+        Entry<V> previous = entries.remove(id);
+        if (previous != null) {
+            for (String key : previous.keys()) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        keys.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public V get(long id) {
+        Entry<V> entry = entries.get(id);
+        return entry != null ? entry.value() : null;
+    }
+
+    // Up to limit values whose fields have a word starting with the query, in key order.
+    // A blank query returns the first entries.
+    public List<V> search(String query, int limit) {
+        String prefix = normalize(query);
+        ConcurrentNavigableMap<String, Long> range = prefix.isEmpty() ? keys
+            : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : range.values()) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(id);
+        }
+        List<V> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            V value = get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(TextNormalizer.fold(text)).replaceAll(" ").trim();
+    }
+
+    private record Entry<V>(V value, String[] keys) {
+    }
+}
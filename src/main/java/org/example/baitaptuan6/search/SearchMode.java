@@ -0,0 +1,11 @@
+package org.example.baitaptuan6.search;
+
+// Engine used by the admin search pages, selected with app.search.mode
+public enum SearchMode {
+    // LOWER(column) LIKE '%keyword%' over the table
+    LIKE,
+    // PostgreSQL tsvector columns with GIN indexes and diacritic folding
+    FULLTEXT,
+    // In-process trigram index (CatalogSearchIndex), falls back to LIKE for short keywords
+    NGRAM
+}
@@ -0,0 +1,121 @@
+package org.example.baitaptuan6.search;
+
+import org.example.baitaptuan6.dto.CategoryRef;
+import org.example.baitaptuan6.dto.UserRef;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Prefix indexes behind the category and user pickers.
+// Built from the active rows on startup and kept current by the services after each commit.
+@Component
+public class TypeaheadIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadIndex.class);
+
+    private final PrefixIndex<CategoryRef> categories = new PrefixIndex<>();
+    private final PrefixIndex<UserRef> users = new PrefixIndex<>();
+    private final BuildBuffer updates = new BuildBuffer();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.typeahead.max-results:20}")
+    private int maxResults;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long start = System.currentTimeMillis();
+        try {
+            JdbcTemplate cursor = new JdbcTemplate(dataSource);
+            cursor.setFetchSize(10000);
+            cursor.query("SELECT id, name FROM categories WHERE is_active = true",
+                rs -> {
+                    long id = rs.getLong(1);
+                    String name = rs.getString(2);
+                    categories.put(id, new CategoryRef(id, name), name);
+                });
+            cursor.query("SELECT id, username, full_name FROM users WHERE is_active = true",
+                rs -> {
+                    long id = rs.getLong(1);
+                    String fullName = rs.getString(3);
+                    users.put(id, new UserRef(id, fullName), rs.getString(2), fullName);
+                });
+        } finally {
+            updates.finish();
+        }
+        log.info("Built typeahead index ({} categories, {} users) in {} ms",
+            categories.size(), users.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<CategoryRef> searchCategories(String query, int limit) {
+        return categories.search(query, clamp(limit));
+    }
+
+    public List<UserRef> searchUsers(String query, int limit) {
+        return users.search(query, clamp(limit));
+    }
+
+    // Display name of an active category, null when unknown
+    public CategoryRef getCategory(Long id) {
+        return id != null ? categories.get(id) : null;
+    }
+
+    // Display name of an active user, null when unknown
+    public UserRef getUser(Long id) {
+        return id != null ? users.get(id) : null;
+    }
+
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, maxResults));
+    }
+
+    // Index the category if active, drop it otherwise
+    public void onCategoryChanged(Category category) {
+        Long id = category.getId();
+        boolean active = Boolean.TRUE.equals(category.getIsActive());
+        String name = category.getName();
+        updates.apply(() -> {
+            if (active) {
+                categories.put(id, new CategoryRef(id, name), name);
+            } else {
+                categories.remove(id);
+            }
+        });
+    }
+
+    public void onCategoryRemoved(Long id) {
+        updates.apply(() -> categories.remove(id));
+    }
+
+    // Index the user if active, drop it otherwise
+    public void onUserChanged(User user) {
+        Long id = user.getId();
+        boolean active = Boolean.TRUE.equals(user.getIsActive());
+        String username = user.getUsername();
+        String fullName = user.getFullName();
+        updates.apply(() -> {
+            if (active) {
+                users.put(id, new UserRef(id, fullName), username, fullName);
+            } else {
+                users.remove(id);
+            }
+        });
+    }
+
+    public void onUserRemoved(Long id) {
+        updates.apply(() -> users.remove(id));
+    }
+}
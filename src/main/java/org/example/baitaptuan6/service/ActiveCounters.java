@@ -0,0 +1,98 @@
+package org.example.baitaptuan6.service;
+
+import org.example.baitaptuan6.repository.CategoryRepository;
+import org.example.baitaptuan6.repository.UserRepository;
+import org.example.baitaptuan6.repository.VideoRepository;
+import org.example.baitaptuan6.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Number of active videos, categories and users, kept in memory for the dashboards.
+// The services apply +1/-1 after each commit that changes an is_active flag, and the
+// counts are reconciled with COUNT(*) on startup and on a schedule to correct drift
+// (bulk updates, cascades, changes committed while a reconcile was running).
+@Component
+public class ActiveCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveCounters.class);
+
+    public enum Kind { VIDEOS, CATEGORIES, USERS }
+
+    private final Map<Kind, AtomicLong> counts = new EnumMap<>(Kind.class);
+
+    // A lock rather than synchronized, a virtual thread blocked on JDBC inside a
+    // synchronized method pins its carrier thread on Java 21
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public ActiveCounters() {
+        for (Kind kind : Kind.values()) {
+            counts.put(kind, new AtomicLong());
+        }
+    }
+
+    public long get(Kind kind) {
+        if (!loaded) {
+            reconcile();
+        }
+        return counts.get(kind).get();
+    }
+
+    // Record a row whose active flag went from wasActive to isActive (false for created/deleted rows)
+    public void onActiveChanged(Kind kind, boolean wasActive, boolean isActive) {
+        if (wasActive != isActive) {
+            adjust(kind, isActive ? 1 : -1);
+        }
+    }
+
+    // Apply a delta once the current transaction commits
+    public void adjust(Kind kind, long delta) {
+        if (delta != 0) {
+            AfterCommit.run(() -> counts.get(kind).addAndGet(delta));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.counters.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.counters.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            set(Kind.VIDEOS, videoRepository.countByIsActiveTrue());
+            set(Kind.CATEGORIES, categoryRepository.countByIsActiveTrue());
+            set(Kind.USERS, userRepository.countByIsActiveTrue());
+            loaded = true;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void set(Kind kind, long actual) {
+        long previous = counts.get(kind).getAndSet(actual);
+        if (loaded && previous != actual) {
+            log.info("Reconciled active {} count: {} -> {}", kind.name().toLowerCase(), previous, actual);
+        }
+    }
+}
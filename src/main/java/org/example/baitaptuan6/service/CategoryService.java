@@ -1,17 +1,36 @@
 package org.example.baitaptuan6.service;
 
+import org.example.baitaptuan6.cascade.CascadeEngine;
+import org.example.baitaptuan6.entity.CascadeJob;
 import org.example.baitaptuan6.entity.Category;
 import org.example.baitaptuan6.repository.CategoryRepository;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.paging.CountMode;
+import org.example.baitaptuan6.paging.KeysetCursor;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.paging.RowCountEstimator;
+import org.example.baitaptuan6.search.CatalogSearchIndex;
+import org.example.baitaptuan6.search.FullTextQuery;
+import org.example.baitaptuan6.search.SearchMode;
+import org.example.baitaptuan6.search.TypeaheadIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -20,33 +39,132 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    // Non-null properties that keyset pagination can seek on
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "name", "createdAt");
+    
+    // Sortable properties and their columns, for native full-text queries
+    private static final Map<String, String> SEARCH_SORT_COLUMNS = Map.of(
+        "id", "id",
+        "name", "name",
+        "createdAt", "created_at",
+        "updatedAt", "updated_at");
+    
+    @Value("${app.search.mode:like}")
+    private SearchMode searchMode;
+    
+    @Value("${app.search.ngram.max-candidates:10000}")
+    private int maxSearchCandidates;
+    
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+    
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    
+    @Value("${app.pagination.count:exact}")
+    private CountMode countMode;
+    
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+    
+    @Autowired
+    private ActiveCounters activeCounters;
+    
+    @Autowired
+    private CascadeEngine cascadeEngine;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityCache entityCache;
+    
+    @Autowired
+    private ChangeStamps changeStamps;
+    
     // Get all active categories
+    @Transactional(readOnly = true)
     public List<Category> getAllActiveCategories() {
         return categoryRepository.findByIsActiveTrue();
     }
     
     // Get all active categories with pagination
+    @Transactional(readOnly = true)
     public Page<Category> getAllActiveCategories(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (countMode == CountMode.ESTIMATE) {
+            return ApproximatePage.fromSlice(categoryRepository.findSliceByIsActiveTrue(pageable), rowCountEstimator.estimateActive("categories"));
+        }
+        if (countMode == CountMode.SLICE) {
+            return ApproximatePage.fromSlice(categoryRepository.findSliceByIsActiveTrue(pageable));
+        }
         return categoryRepository.findByIsActiveTrue(pageable);
     }
     
+    // Scroll active categories with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<Category> scrollActiveCategories(String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return KeysetPage.of(categoryRepository.findByIsActiveTrue(position, sort, Limit.of(size)), position, sort);
+    }
+    
     // Search categories
+    @Transactional(readOnly = true)
     public Page<Category> searchCategories(String keyword, int page, int size, String sortBy, String sortDir) {
+        if (searchMode == SearchMode.FULLTEXT) {
+            String query = FullTextQuery.toPrefixQuery(keyword);
+            if (query == null) {
+                return Page.empty(PageRequest.of(page, size));
+            }
+            String column = SEARCH_SORT_COLUMNS.get(sortBy);
+            // "relevance" (and any key without a column) orders by ts_rank
+            if (column == null) {
+                Pageable pageable = PageRequest.of(page, size);
+                if (countMode != CountMode.EXACT) {
+                    return ApproximatePage.fromSlice(categoryRepository.fullTextSearchActiveCategoriesRankedSlice(query, pageable));
+                }
+                return categoryRepository.fullTextSearchActiveCategoriesRanked(query, pageable);
+            }
+            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, JpaSort.unsafe(direction, column));
+            if (countMode != CountMode.EXACT) {
+                return ApproximatePage.fromSlice(categoryRepository.fullTextSearchActiveCategoriesSlice(query, pageable));
+            }
+            return categoryRepository.fullTextSearchActiveCategories(query, pageable);
+        }
+        // Relevance needs a ranking function, LIKE search falls back to the default order
+        if (FullTextQuery.RELEVANCE.equals(sortBy)) {
+            sortBy = "name";
+        }
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (searchMode == SearchMode.NGRAM && catalogSearchIndex.isReady()) {
+            int[] ids = catalogSearchIndex.searchCategories(keyword);
+            // Sort and page the matching ids in the database, loading only the rows of this page
+            if (ids != null && ids.length <= maxSearchCandidates) {
+                List<Category> content = ids.length == 0 ? List.of()
+                    : categoryRepository.findByIdInAndIsActiveTrue(CatalogSearchIndex.toIds(ids), pageable);
+                return new PageImpl<>(content, pageable, ids.length);
+            }
+        }
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(categoryRepository.searchActiveCategoriesSlice(keyword, pageable));
+        }
         return categoryRepository.searchActiveCategories(keyword, pageable);
     }
     
     // Get category by ID
+    @Transactional(readOnly = true)
     public Optional<Category> getCategoryById(Long id) {
         return categoryRepository.findById(id);
     }
     
     // Get active category by ID
+    @Transactional(readOnly = true)
     public Optional<Category> getActiveCategoryById(Long id) {
         return categoryRepository.findById(id)
             .filter(category -> category.getIsActive());
@@ -58,7 +176,11 @@ public class CategoryService {
         if (categoryRepository.findByNameIgnoreCase(category.getName()).isPresent()) {
             throw new RuntimeException("Tên danh mục đã tồn tại");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogSearchIndex.onCategoryChanged(saved);
+        typeaheadIndex.onCategoryChanged(saved);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.CATEGORIES, false, Boolean.TRUE.equals(saved.getIsActive()));
+        return saved;
     }
     
     // Update category
@@ -73,40 +195,143 @@ public class CategoryService {
         
         category.setName(categoryDetails.getName());
         category.setDescription(categoryDetails.getDescription());
+        boolean wasActive = Boolean.TRUE.equals(category.getIsActive());
         category.setIsActive(categoryDetails.getIsActive());
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogSearchIndex.onCategoryChanged(saved);
+        typeaheadIndex.onCategoryChanged(saved);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.CATEGORIES, wasActive, Boolean.TRUE.equals(saved.getIsActive()));
+        if (wasActive != Boolean.TRUE.equals(saved.getIsActive())) {
+            cascadeEngine.submit(CascadeJob.Target.CATEGORY, id, wasActive ? CascadeJob.Action.DEACTIVATE : CascadeJob.Action.ACTIVATE);
+        }
+        return saved;
     }
     
     // Soft delete category (deactivate)
     public void deactivateCategory(Long id) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
+        boolean wasActive = Boolean.TRUE.equals(category.getIsActive());
         category.setIsActive(false);
         categoryRepository.save(category);
+        catalogSearchIndex.onCategoryChanged(category);
+        typeaheadIndex.onCategoryChanged(category);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.CATEGORIES, wasActive, false);
+        if (wasActive) {
+            cascadeEngine.submit(CascadeJob.Target.CATEGORY, id, CascadeJob.Action.DEACTIVATE);
+        }
     }
     
     // Activate category
     public void activateCategory(Long id) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
+        boolean wasActive = Boolean.TRUE.equals(category.getIsActive());
         category.setIsActive(true);
         categoryRepository.save(category);
+        catalogSearchIndex.onCategoryChanged(category);
+        typeaheadIndex.onCategoryChanged(category);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.CATEGORIES, wasActive, true);
+        if (!wasActive) {
+            cascadeEngine.submit(CascadeJob.Target.CATEGORY, id, CascadeJob.Action.ACTIVATE);
+        }
+    }
+    
+    // Flip the active flag, reading it in the same read-write transaction; returns the new state
+    public boolean toggleCategoryActive(Long id) {
+        Category category = categoryRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
+        if (Boolean.TRUE.equals(category.getIsActive())) {
+            deactivateCategory(id);
+            return false;
+        }
+        activateCategory(id);
+        return true;
     }
     
-    // Hard delete category
-    public void deleteCategory(Long id) {
+    // Hard delete category: hidden at once, removed with its videos by a cascade job
+    public CascadeJob deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục với ID: " + id));
-        categoryRepository.delete(category);
+        boolean wasActive = Boolean.TRUE.equals(category.getIsActive());
+        if (wasActive) {
+            category.setIsActive(false);
+            categoryRepository.save(category);
+        }
+        catalogSearchIndex.onCategoryRemoved(id);
+        typeaheadIndex.onCategoryRemoved(id);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.CATEGORIES, wasActive, false);
+        return cascadeEngine.submit(CascadeJob.Target.CATEGORY, id, CascadeJob.Action.DELETE);
+    }
+    
+    // Activate or deactivate the given categories with one set-based update and cascade to their
+    // videos, returns the number changed
+    public long setCategoriesActive(List<Long> ids, boolean active) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Category> changed = changeActive(ids, active);
+        for (Category category : changed) {
+            cascadeEngine.submit(CascadeJob.Target.CATEGORY, category.getId(), active ? CascadeJob.Action.ACTIVATE : CascadeJob.Action.DEACTIVATE);
+        }
+        return changed.size();
+    }
+    
+    // Hard delete the given categories: hidden with one set-based update, then removed with
+    // their videos by cascade jobs; returns the number of categories found
+    public long deleteCategories(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        changeActive(ids, false);
+        Long[] array = VideoBulkOperations.toArray(ids);
+        List<Long> existing = jdbcTemplate.query("SELECT id FROM categories WHERE id = ANY(?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", array)),
+            (rs, rowNum) -> rs.getLong(1));
+        for (Long id : existing) {
+            cascadeEngine.submit(CascadeJob.Target.CATEGORY, id, CascadeJob.Action.DELETE);
+        }
+        return existing.size();
+    }
+    
+    // Set is_active with UPDATE ... RETURNING and update the indexes and counters for the rows changed
+    private List<Category> changeActive(List<Long> ids, boolean active) {
+        Long[] array = VideoBulkOperations.toArray(ids);
+        List<Category> changed = jdbcTemplate.query(
+            "UPDATE categories SET is_active = ?, updated_at = LOCALTIMESTAMP WHERE id = ANY(?) AND is_active <> ? " +
+            "RETURNING id, name, description",
+            ps -> {
+                ps.setBoolean(1, active);
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", array));
+                ps.setBoolean(3, active);
+            },
+            (rs, rowNum) -> {
+                Category category = new Category();
+                category.setId(rs.getLong(1));
+                category.setName(rs.getString(2));
+                category.setDescription(rs.getString(3));
+                category.setIsActive(active);
+                return category;
+            });
+        for (Category category : changed) {
+            catalogSearchIndex.onCategoryChanged(category);
+            typeaheadIndex.onCategoryChanged(category);
+        }
+        activeCounters.adjust(ActiveCounters.Kind.CATEGORIES, active ? changed.size() : -changed.size());
+        entityCache.evict(Category.class, ids);
+        changeStamps.touch(ChangeStamps.Table.CATEGORIES);
+        return changed;
     }
     
     // Count active categories
+    @Transactional(readOnly = true)
     public long countActiveCategories() {
         return categoryRepository.countByIsActiveTrue();
     }
     
     // Check if category name exists
+    @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         return categoryRepository.findByNameIgnoreCase(name).isPresent();
     }
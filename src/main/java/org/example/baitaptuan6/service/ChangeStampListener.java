@@ -0,0 +1,32 @@
+package org.example.baitaptuan6.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.entity.Video;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Counts inserts, updates and deletes of Category, User and Video made through the entities.
+// Hibernate gets the instance from Spring, so the listener can be autowired.
+@Component
+public class ChangeStampListener {
+
+    @Autowired
+    private ChangeStamps changeStamps;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        if (entity instanceof Category) {
+            changeStamps.touch(ChangeStamps.Table.CATEGORIES);
+        } else if (entity instanceof User) {
+            changeStamps.touch(ChangeStamps.Table.USERS);
+        } else if (entity instanceof Video) {
+            changeStamps.touch(ChangeStamps.Table.VIDEOS);
+        }
+    }
+}
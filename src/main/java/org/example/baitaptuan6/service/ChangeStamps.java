@@ -0,0 +1,66 @@
+package org.example.baitaptuan6.service;
+
+import org.example.baitaptuan6.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-table change counters used as ETags by the admin pages. Entity writes are counted by
+// ChangeStampListener, JDBC and bulk JPQL writers call touch() themselves. Counters move
+// after commit and the page reads them before its queries, so a page is never labelled with
+// a stamp newer than its data. They live in memory: the startup time is part of every stamp
+// so that validators handed out before a restart no longer match.
+// Pages show view and like counts, so counter writes touch the videos stamp as well, once
+// per direct increment or per view buffer flush.
+// With the read replica enabled the pages may read data older than the stamp, so there are
+// no table validators at all.
+@Component
+public class ChangeStamps {
+
+    public enum Table { CATEGORIES, USERS, VIDEOS }
+
+    private final Map<Table, AtomicLong> counters = new EnumMap<>(Table.class);
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @Value("${app.datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    public ChangeStamps() {
+        for (Table table : Table.values()) {
+            counters.put(table, new AtomicLong());
+        }
+    }
+
+    // Count a change to the table once the current transaction commits
+    public void touch(Table table) {
+        AfterCommit.run(() -> counters.get(table).incrementAndGet());
+    }
+
+    // Validator for a page built from the given tables, null when it cannot be trusted
+    public String etag(Table... tables) {
+        if (replicaEnabled && tables.length > 0) {
+            return null;
+        }
+        StringBuilder etag = new StringBuilder(epoch);
+        for (Table table : tables) {
+            etag.append('-').append(Long.toString(counters.get(table).get(), 36));
+        }
+        return etag.toString();
+    }
+
+    // Validator for a page built from one row, identified by its updated_at, and the given tables
+    public String etag(LocalDateTime updatedAt, Table... tables) {
+        String stamp = etag(tables);
+        if (stamp == null) {
+            return null;
+        }
+        long millis = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        return Long.toString(millis, 36) + "-" + stamp;
+    }
+}
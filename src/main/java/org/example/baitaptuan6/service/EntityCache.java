@@ -0,0 +1,42 @@
+package org.example.baitaptuan6.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.baitaptuan6.util.AfterCommit;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Second-level cache upkeep for writes made with JDBC (bulk activation, cascade deletes,
+// dataset generation), which Hibernate does not see. The rows and the cached query results
+// are evicted once the transaction commits; changes made through the entities need nothing.
+@Component
+public class EntityCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evict(Class<?> type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            for (Long id : ids) {
+                entityManagerFactory.getCache().evict(type, id);
+            }
+            evictQueries();
+        });
+    }
+
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            entityManagerFactory.getCache().evictAll();
+            evictQueries();
+        });
+    }
+
+    private void evictQueries() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
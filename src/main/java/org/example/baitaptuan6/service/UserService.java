@@ -1,18 +1,37 @@
 package org.example.baitaptuan6.service;
 
+import org.example.baitaptuan6.cascade.CascadeEngine;
+import org.example.baitaptuan6.entity.CascadeJob;
 import org.example.baitaptuan6.entity.User;
 import org.example.baitaptuan6.repository.UserRepository;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.paging.CountMode;
+import org.example.baitaptuan6.paging.KeysetCursor;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.paging.RowCountEstimator;
+import org.example.baitaptuan6.search.CatalogSearchIndex;
+import org.example.baitaptuan6.search.FullTextQuery;
+import org.example.baitaptuan6.search.SearchMode;
+import org.example.baitaptuan6.search.TypeaheadIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -21,60 +40,177 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    // Non-null properties that keyset pagination can seek on
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "username", "email", "fullName", "createdAt");
+    
+    // Sortable properties and their columns, for native full-text queries
+    private static final Map<String, String> SEARCH_SORT_COLUMNS = Map.of(
+        "id", "id",
+        "username", "username",
+        "email", "email",
+        "fullName", "full_name",
+        "role", "role",
+        "createdAt", "created_at",
+        "updatedAt", "updated_at");
+    
+    @Value("${app.search.mode:like}")
+    private SearchMode searchMode;
+    
+    @Value("${app.search.ngram.max-candidates:10000}")
+    private int maxSearchCandidates;
+    
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+    
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+    
+    @Value("${app.pagination.count:exact}")
+    private CountMode countMode;
+    
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+    
+    @Autowired
+    private ActiveCounters activeCounters;
+    
+    @Autowired
+    private CascadeEngine cascadeEngine;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityCache entityCache;
+    
+    @Autowired
+    private ChangeStamps changeStamps;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
     // Get all active users
+    @Transactional(readOnly = true)
     public List<User> getAllActiveUsers() {
         return userRepository.findByIsActiveTrue();
     }
     
     // Get all active users with pagination
+    @Transactional(readOnly = true)
     public Page<User> getAllActiveUsers(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (countMode == CountMode.ESTIMATE) {
+            return ApproximatePage.fromSlice(userRepository.findSliceByIsActiveTrue(pageable), rowCountEstimator.estimateActive("users"));
+        }
+        if (countMode == CountMode.SLICE) {
+            return ApproximatePage.fromSlice(userRepository.findSliceByIsActiveTrue(pageable));
+        }
         return userRepository.findByIsActiveTrue(pageable);
     }
     
+    // Scroll active users with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<User> scrollActiveUsers(String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return KeysetPage.of(userRepository.findByIsActiveTrue(position, sort, Limit.of(size)), position, sort);
+    }
+    
     // Search users
+    @Transactional(readOnly = true)
     public Page<User> searchUsers(String keyword, int page, int size, String sortBy, String sortDir) {
+        if (searchMode == SearchMode.FULLTEXT) {
+            String query = FullTextQuery.toPrefixQuery(keyword);
+            if (query == null) {
+                return Page.empty(PageRequest.of(page, size));
+            }
+            String column = SEARCH_SORT_COLUMNS.get(sortBy);
+            // "relevance" (and any key without a column) orders by ts_rank
+            if (column == null) {
+                Pageable pageable = PageRequest.of(page, size);
+                if (countMode != CountMode.EXACT) {
+                    return ApproximatePage.fromSlice(userRepository.fullTextSearchActiveUsersRankedSlice(query, pageable));
+                }
+                return userRepository.fullTextSearchActiveUsersRanked(query, pageable);
+            }
+            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, JpaSort.unsafe(direction, column));
+            if (countMode != CountMode.EXACT) {
+                return ApproximatePage.fromSlice(userRepository.fullTextSearchActiveUsersSlice(query, pageable));
+            }
+            return userRepository.fullTextSearchActiveUsers(query, pageable);
+        }
+        // Relevance needs a ranking function, LIKE search falls back to the default order
+        if (FullTextQuery.RELEVANCE.equals(sortBy)) {
+            sortBy = "username";
+        }
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (searchMode == SearchMode.NGRAM && catalogSearchIndex.isReady()) {
+            int[] ids = catalogSearchIndex.searchUsers(keyword);
+            // Sort and page the matching ids in the database, loading only the rows of this page
+            if (ids != null && ids.length <= maxSearchCandidates) {
+                List<User> content = ids.length == 0 ? List.of()
+                    : userRepository.findByIdInAndIsActiveTrue(CatalogSearchIndex.toIds(ids), pageable);
+                return new PageImpl<>(content, pageable, ids.length);
+            }
+        }
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(userRepository.searchActiveUsersSlice(keyword, pageable));
+        }
         return userRepository.searchActiveUsers(keyword, pageable);
     }
     
     // Get users by role
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(User.UserRole role) {
         return userRepository.findByRoleAndIsActiveTrue(role);
     }
     
     // Get users by role with pagination
+    @Transactional(readOnly = true)
     public Page<User> getUsersByRole(User.UserRole role, int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(userRepository.findSliceByRoleAndIsActiveTrue(role, pageable));
+        }
         return userRepository.findByRoleAndIsActiveTrue(role, pageable);
     }
     
+    // Scroll users by role with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<User> scrollUsersByRole(User.UserRole role, String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return KeysetPage.of(userRepository.findByRoleAndIsActiveTrue(role, position, sort, Limit.of(size)), position, sort);
+    }
+    
     // Get user by ID
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
     // Get active user by ID
+    @Transactional(readOnly = true)
     public Optional<User> getActiveUserById(Long id) {
         return userRepository.findById(id)
             .filter(user -> user.getIsActive());
     }
     
     // Get user by username
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
     // Get user by email
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -94,7 +230,11 @@ public class UserService {
         // Encode password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        catalogSearchIndex.onUserChanged(saved);
+        typeaheadIndex.onUserChanged(saved);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.USERS, false, Boolean.TRUE.equals(saved.getIsActive()));
+        return saved;
     }
     
     // Update user
@@ -116,6 +256,7 @@ public class UserService {
         user.setEmail(userDetails.getEmail());
         user.setFullName(userDetails.getFullName());
         user.setRole(userDetails.getRole());
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(userDetails.getIsActive());
         
         // Update password only if provided
@@ -123,48 +264,153 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        catalogSearchIndex.onUserChanged(saved);
+        typeaheadIndex.onUserChanged(saved);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.USERS, wasActive, Boolean.TRUE.equals(saved.getIsActive()));
+        if (wasActive != Boolean.TRUE.equals(saved.getIsActive())) {
+            cascadeEngine.submit(CascadeJob.Target.USER, id, wasActive ? CascadeJob.Action.DEACTIVATE : CascadeJob.Action.ACTIVATE);
+        }
+        return saved;
     }
     
     // Soft delete user (deactivate)
     public void deactivateUser(Long id) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng với ID: " + id));
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(false);
         userRepository.save(user);
+        catalogSearchIndex.onUserChanged(user);
+        typeaheadIndex.onUserChanged(user);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.USERS, wasActive, false);
+        if (wasActive) {
+            cascadeEngine.submit(CascadeJob.Target.USER, id, CascadeJob.Action.DEACTIVATE);
+        }
     }
     
     // Activate user
     public void activateUser(Long id) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng với ID: " + id));
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(true);
         userRepository.save(user);
+        catalogSearchIndex.onUserChanged(user);
+        typeaheadIndex.onUserChanged(user);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.USERS, wasActive, true);
+        if (!wasActive) {
+            cascadeEngine.submit(CascadeJob.Target.USER, id, CascadeJob.Action.ACTIVATE);
+        }
+    }
+    
+    // Flip the active flag, reading it in the same read-write transaction; returns the new state
+    public boolean toggleUserActive(Long id) {
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng với ID: " + id));
+        if (Boolean.TRUE.equals(user.getIsActive())) {
+            deactivateUser(id);
+            return false;
+        }
+        activateUser(id);
+        return true;
     }
     
-    // Hard delete user
-    public void deleteUser(Long id) {
+    // Hard delete user: hidden at once, removed with its videos by a cascade job
+    public CascadeJob deleteUser(Long id) {
         User user = userRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng với ID: " + id));
-        userRepository.delete(user);
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
+        if (wasActive) {
+            user.setIsActive(false);
+            userRepository.save(user);
+        }
+        catalogSearchIndex.onUserRemoved(id);
+        typeaheadIndex.onUserRemoved(id);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.USERS, wasActive, false);
+        return cascadeEngine.submit(CascadeJob.Target.USER, id, CascadeJob.Action.DELETE);
+    }
+    
+    // Activate or deactivate the given users with one set-based update and cascade to their
+    // videos, returns the number changed
+    public long setUsersActive(List<Long> ids, boolean active) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<User> changed = changeActive(ids, active);
+        for (User user : changed) {
+            cascadeEngine.submit(CascadeJob.Target.USER, user.getId(), active ? CascadeJob.Action.ACTIVATE : CascadeJob.Action.DEACTIVATE);
+        }
+        return changed.size();
+    }
+    
+    // Hard delete the given users: hidden with one set-based update, then removed with
+    // their videos by cascade jobs; returns the number of users found
+    public long deleteUsers(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        changeActive(ids, false);
+        Long[] array = VideoBulkOperations.toArray(ids);
+        List<Long> existing = jdbcTemplate.query("SELECT id FROM users WHERE id = ANY(?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", array)),
+            (rs, rowNum) -> rs.getLong(1));
+        for (Long id : existing) {
+            cascadeEngine.submit(CascadeJob.Target.USER, id, CascadeJob.Action.DELETE);
+        }
+        return existing.size();
+    }
+    
+    // Set is_active with UPDATE ... RETURNING and update the indexes and counters for the rows changed
+    private List<User> changeActive(List<Long> ids, boolean active) {
+        Long[] array = VideoBulkOperations.toArray(ids);
+        List<User> changed = jdbcTemplate.query(
+            "UPDATE users SET is_active = ?, updated_at = LOCALTIMESTAMP WHERE id = ANY(?) AND is_active <> ? " +
+            "RETURNING id, username, email, full_name",
+            ps -> {
+                ps.setBoolean(1, active);
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", array));
+                ps.setBoolean(3, active);
+            },
+            (rs, rowNum) -> {
+                User user = new User();
+                user.setId(rs.getLong(1));
+                user.setUsername(rs.getString(2));
+                user.setEmail(rs.getString(3));
+                user.setFullName(rs.getString(4));
+                user.setIsActive(active);
+                return user;
+            });
+        for (User user : changed) {
+            catalogSearchIndex.onUserChanged(user);
+            typeaheadIndex.onUserChanged(user);
+        }
+        activeCounters.adjust(ActiveCounters.Kind.USERS, active ? changed.size() : -changed.size());
+        entityCache.evict(User.class, ids);
+        changeStamps.touch(ChangeStamps.Table.USERS);
+        return changed;
     }
     
     // Count active users
+    @Transactional(readOnly = true)
     public long countActiveUsers() {
         return userRepository.countByIsActiveTrue();
     }
     
     // Count users by role
+    @Transactional(readOnly = true)
     public long countUsersByRole(User.UserRole role) {
         return userRepository.countByRoleAndIsActiveTrue(role);
     }
     
     // Check if username exists
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return userRepository.findByUsername(username).isPresent();
     }
     
     // Check if email exists
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.findByEmail(email).isPresent();
     }
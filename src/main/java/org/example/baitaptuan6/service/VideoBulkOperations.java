@@ -0,0 +1,156 @@
+package org.example.baitaptuan6.service;
+
+import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.ranking.VideoRankings;
+import org.example.baitaptuan6.search.CatalogSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+// Set-based activate, deactivate and delete of the videos matching a SQL condition.
+// Rows are changed in chunks of app.bulk.chunk-size, one transaction per chunk, with
+// UPDATE/DELETE ... RETURNING so that the search index, rankings and counters are
+// updated for exactly the rows that changed. An optional progress callback receives
+// the number of rows of each committed chunk.
+@Component
+public class VideoBulkOperations {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private VideoRankings videoRankings;
+
+    @Autowired
+    private ActiveCounters activeCounters;
+
+    @Autowired
+    private ChangeStamps changeStamps;
+
+    @Value("${app.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    // Array parameter for "id = ANY(?)" style conditions
+    public static Long[] toArray(Collection<Long> ids) {
+        return ids.toArray(new Long[0]);
+    }
+
+    // Set is_active on the matching videos whose flag differs, returns the number changed.
+    // Clears deactivated_by_cascade: the videos are now hidden or shown on their own.
+    public long setActive(boolean active, String condition, Object... args) {
+        return update(active, false, condition, args, null);
+    }
+
+    // Cascade from a category or user: deactivated videos are marked so that reactivating
+    // the parent restores only them
+    public long setActiveByCascade(boolean active, String condition, Object[] args, LongConsumer progress) {
+        return update(active, !active, condition, args, progress);
+    }
+
+    private long update(boolean active, boolean byCascade, String condition, Object[] args, LongConsumer progress) {
+        String sql = "UPDATE videos SET is_active = ?, deactivated_by_cascade = " + byCascade
+            + ", updated_at = LOCALTIMESTAMP WHERE id IN ("
+            + "SELECT id FROM videos WHERE is_active <> ? AND (" + condition + ") ORDER BY id LIMIT ?) "
+            + "RETURNING id, title, description, views, likes, created_at";
+        long total = 0;
+        while (true) {
+            Long changed = transactionTemplate.execute(status -> {
+                long[] rows = new long[1];
+                jdbcTemplate.query(sql, parameters(active, args),
+                    rs -> {
+                        Video video = new Video();
+                        video.setId(rs.getLong(1));
+                        video.setTitle(rs.getString(2));
+                        video.setDescription(rs.getString(3));
+                        video.setViews(rs.getLong(4));
+                        video.setLikes(rs.getLong(5));
+                        Timestamp createdAt = rs.getTimestamp(6);
+                        video.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+                        video.setIsActive(active);
+                        catalogSearchIndex.onVideoChanged(video);
+                        videoRankings.onVideoChanged(video);
+                        rows[0]++;
+                    });
+                activeCounters.adjust(ActiveCounters.Kind.VIDEOS, active ? rows[0] : -rows[0]);
+                changeStamps.touch(ChangeStamps.Table.VIDEOS);
+                return rows[0];
+            });
+            total += changed;
+            if (progress != null && changed > 0) {
+                progress.accept(changed);
+            }
+            if (changed < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    // Delete the matching videos (their likes go with them), returns the number deleted
+    public long delete(String condition, Object... args) {
+        return delete(condition, args, null);
+    }
+
+    public long delete(String condition, Object[] args, LongConsumer progress) {
+        String sql = "DELETE FROM videos WHERE id IN ("
+            + "SELECT id FROM videos WHERE " + condition + " ORDER BY id LIMIT ?) RETURNING id, is_active";
+        long total = 0;
+        while (true) {
+            Long deleted = transactionTemplate.execute(status -> {
+                long[] rows = new long[2];
+                jdbcTemplate.query(sql, parameters(null, args),
+                    rs -> {
+                        Long id = rs.getLong(1);
+                        catalogSearchIndex.onVideoRemoved(id);
+                        videoRankings.onVideoRemoved(id);
+                        rows[0]++;
+                        if (rs.getBoolean(2)) {
+                            rows[1]++;
+                        }
+                    });
+                activeCounters.adjust(ActiveCounters.Kind.VIDEOS, -rows[1]);
+                changeStamps.touch(ChangeStamps.Table.VIDEOS);
+                return rows[0];
+            });
+            total += deleted;
+            if (progress != null && deleted > 0) {
+                progress.accept(deleted);
+            }
+            if (deleted < chunkSize) {
+                return total;
+            }
+        }
+    }
+
+    // The active flag (set and compared) when updating, the condition arguments, then the
+    // chunk size; Long[] arguments bind as bigint[]
+    private PreparedStatementSetter parameters(Boolean active, Object[] args) {
+        return ps -> {
+            int index = 1;
+            if (active != null) {
+                ps.setBoolean(index++, active);
+                ps.setBoolean(index++, active);
+            }
+            for (Object arg : args) {
+                if (arg instanceof Long[] ids) {
+                    ps.setArray(index++, ps.getConnection().createArrayOf("bigint", ids));
+                } else {
+                    ps.setObject(index++, arg);
+                }
+            }
+            ps.setInt(index, chunkSize);
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.baitaptuan6.service;
+
+import org.example.baitaptuan6.ranking.VideoRankings;
+import org.example.baitaptuan6.repository.VideoLikeRepository;
+import org.example.baitaptuan6.repository.VideoRepository;
+import org.example.baitaptuan6.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+
+@Service
+@Transactional
+public class VideoLikeService {
+    
+    private static final Logger log = LoggerFactory.getLogger(VideoLikeService.class);
+    
+    @Autowired
+    private VideoLikeRepository videoLikeRepository;
+    
+    @Autowired
+    private VideoRepository videoRepository;
+    
+    @Autowired
+    private VideoRankings videoRankings;
+    
+    @Autowired
+    private ChangeStamps changeStamps;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${app.likes.bloom.expected-insertions:10000000}")
+    private long expectedInsertions;
+    
+    @Value("${app.likes.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private BloomFilter seen;
+    
+    @PostConstruct
+    void init() {
+        seen = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+    
+    // Load existing likes into the pre-check filter
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(10000);
+        long[] loaded = {0};
+        cursor.query("SELECT video_id, user_id FROM video_likes", rs -> {
+            seen.put(rs.getLong(1), rs.getLong(2));
+            loaded[0]++;
+        });
+        log.info("Loaded {} video likes into the duplicate filter", loaded[0]);
+    }
+    
+    // Like a video once per user, returns false if the user already liked it
+    public boolean likeVideo(Long videoId, Long userId) {
+        // A negative answer from the filter is definite, so only possible duplicates hit the table
+        if (seen.mightContain(videoId, userId) && videoLikeRepository.existsByVideoIdAndUserId(videoId, userId)) {
+            return false;
+        }
+        
+        int inserted;
+        try {
+            inserted = videoLikeRepository.insertIfAbsent(videoId, userId);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Video hoặc người dùng không tồn tại");
+        }
+        seen.put(videoId, userId);
+        
+        if (inserted == 0) {
+            return false;
+        }
+        videoRepository.addLikes(videoId, 1L);
+        videoRankings.recordLikes(videoId, 1L);
+        changeStamps.touch(ChangeStamps.Table.VIDEOS);
+        return true;
+    }
+    
+    // Check if user liked the video
+    @Transactional(readOnly = true)
+    public boolean hasLiked(Long videoId, Long userId) {
+        return seen.mightContain(videoId, userId) && videoLikeRepository.existsByVideoIdAndUserId(videoId, userId);
+    }
+}
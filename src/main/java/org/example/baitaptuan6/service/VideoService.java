@@ -1,19 +1,45 @@
 package org.example.baitaptuan6.service;
 
+import org.example.baitaptuan6.dto.CategoryStats;
+import org.example.baitaptuan6.dto.VideoDetail;
+import org.example.baitaptuan6.dto.VideoFilter;
+import org.example.baitaptuan6.dto.VideoKey;
+import org.example.baitaptuan6.dto.VideoListItem;
 import org.example.baitaptuan6.entity.Video;
 import org.example.baitaptuan6.entity.Category;
 import org.example.baitaptuan6.entity.User;
 import org.example.baitaptuan6.repository.VideoRepository;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.paging.CountMode;
+import org.example.baitaptuan6.paging.KeysetCursor;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.paging.RowCountEstimator;
+import org.example.baitaptuan6.ranking.VideoRankings;
+import org.example.baitaptuan6.search.CatalogSearchIndex;
+import org.example.baitaptuan6.search.FullTextQuery;
+import org.example.baitaptuan6.search.SearchMode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -22,96 +48,296 @@ public class VideoService {
     @Autowired
     private VideoRepository videoRepository;
     
+    // Non-null properties that keyset pagination can seek on
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "title", "views", "likes", "createdAt");
+    
+    // Sortable properties and their columns, for native full-text queries
+    private static final Map<String, String> SEARCH_SORT_COLUMNS = Map.of(
+        "id", "id",
+        "title", "title",
+        "duration", "duration",
+        "views", "views",
+        "likes", "likes",
+        "createdAt", "created_at",
+        "updatedAt", "updated_at");
+    
+    @Value("${app.search.mode:like}")
+    private SearchMode searchMode;
+    
+    @Value("${app.search.ngram.max-candidates:10000}")
+    private int maxSearchCandidates;
+    
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+    
+    @Value("${app.pagination.count:exact}")
+    private CountMode countMode;
+    
+    @Autowired
+    private RowCountEstimator rowCountEstimator;
+    
+    @Autowired
+    private ActiveCounters activeCounters;
+    
+    @Autowired
+    private VideoRankings videoRankings;
+    
     @Autowired
     private CategoryService categoryService;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+    
+    @Autowired
+    private VideoBulkOperations videoBulkOperations;
+    
+    @Autowired
+    private ChangeStamps changeStamps;
+    
     // Get all active videos
+    @Transactional(readOnly = true)
     public List<Video> getAllActiveVideos() {
         return videoRepository.findByIsActiveTrue();
     }
     
     // Get all active videos with pagination
-    public Page<Video> getAllActiveVideos(int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getAllActiveVideos(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return videoRepository.findByIsActiveTrue(pageable);
+        if (countMode == CountMode.ESTIMATE) {
+            return ApproximatePage.fromSlice(videoRepository.findActiveVideoItemsSlice(pageable), rowCountEstimator.estimateActive("videos"));
+        }
+        if (countMode == CountMode.SLICE) {
+            return ApproximatePage.fromSlice(videoRepository.findActiveVideoItemsSlice(pageable));
+        }
+        return videoRepository.findActiveVideoItems(pageable);
+    }
+    
+    // Scroll active videos with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<VideoListItem> scrollActiveVideos(String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return listItems(KeysetPage.of(videoRepository.findKeysByIsActiveTrue(position, sort, Limit.of(size)), position, sort));
     }
     
     // Search videos
-    public Page<Video> searchVideos(String keyword, int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> searchVideos(String keyword, int page, int size, String sortBy, String sortDir) {
+        if (searchMode == SearchMode.FULLTEXT) {
+            String query = FullTextQuery.toPrefixQuery(keyword);
+            if (query == null) {
+                return Page.empty(PageRequest.of(page, size));
+            }
+            // The native queries select the matching ids, the rows are loaded with one joined projection
+            String column = SEARCH_SORT_COLUMNS.get(sortBy);
+            // "relevance" (and any key without a column) orders by ts_rank
+            if (column == null) {
+                Pageable pageable = PageRequest.of(page, size);
+                if (countMode != CountMode.EXACT) {
+                    return listItems(videoRepository.fullTextSearchActiveVideoIdsRankedSlice(query, pageable));
+                }
+                return listItems(videoRepository.fullTextSearchActiveVideoIdsRanked(query, pageable));
+            }
+            Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Pageable pageable = PageRequest.of(page, size, JpaSort.unsafe(direction, column));
+            if (countMode != CountMode.EXACT) {
+                return listItems(videoRepository.fullTextSearchActiveVideoIdsSlice(query, pageable));
+            }
+            return listItems(videoRepository.fullTextSearchActiveVideoIds(query, pageable));
+        }
+        // Relevance needs a ranking function, LIKE search falls back to the default order
+        if (FullTextQuery.RELEVANCE.equals(sortBy)) {
+            sortBy = "title";
+        }
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return videoRepository.searchActiveVideos(keyword, pageable);
+        if (searchMode == SearchMode.NGRAM && catalogSearchIndex.isReady()) {
+            int[] ids = catalogSearchIndex.searchVideos(keyword);
+            // Sort and page the matching ids in the database, loading only the rows of this page
+            if (ids != null && ids.length <= maxSearchCandidates) {
+                List<VideoListItem> content = ids.length == 0 ? List.of()
+                    : videoRepository.findVideoItemsByIdIn(CatalogSearchIndex.toIds(ids), pageable);
+                return new PageImpl<>(content, pageable, ids.length);
+            }
+        }
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(videoRepository.searchActiveVideoItemsSlice(keyword, pageable));
+        }
+        return videoRepository.searchActiveVideoItems(keyword, pageable);
     }
     
     // Get videos by category
+    @Transactional(readOnly = true)
     public List<Video> getVideosByCategory(Long categoryId) {
         return videoRepository.findByCategoryIdAndIsActiveTrue(categoryId);
     }
     
     // Get videos by category with pagination
-    public Page<Video> getVideosByCategory(Long categoryId, int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getVideosByCategory(Long categoryId, int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return videoRepository.findByCategoryIdAndIsActiveTrue(categoryId, pageable);
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(videoRepository.findVideoItemsSliceByCategory(categoryId, pageable));
+        }
+        return videoRepository.findVideoItemsByCategory(categoryId, pageable);
+    }
+    
+    // Scroll videos by category with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<VideoListItem> scrollVideosByCategory(Long categoryId, String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return listItems(KeysetPage.of(videoRepository.findKeysByCategoryIdAndIsActiveTrue(categoryId, position, sort, Limit.of(size)), position, sort));
     }
     
     // Get videos by user
+    @Transactional(readOnly = true)
     public List<Video> getVideosByUser(Long userId) {
         return videoRepository.findByUserIdAndIsActiveTrue(userId);
     }
     
     // Get videos by user with pagination
-    public Page<Video> getVideosByUser(Long userId, int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getVideosByUser(Long userId, int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return videoRepository.findByUserIdAndIsActiveTrue(userId, pageable);
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(videoRepository.findVideoItemsSliceByUser(userId, pageable));
+        }
+        return videoRepository.findVideoItemsByUser(userId, pageable);
+    }
+    
+    // Scroll videos by user with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<VideoListItem> scrollVideosByUser(Long userId, String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return listItems(KeysetPage.of(videoRepository.findKeysByUserIdAndIsActiveTrue(userId, position, sort, Limit.of(size)), position, sort));
     }
     
     // Get videos by category and user
+    @Transactional(readOnly = true)
     public List<Video> getVideosByCategoryAndUser(Long categoryId, Long userId) {
         return videoRepository.findByCategoryIdAndUserIdAndIsActiveTrue(categoryId, userId);
     }
     
     // Get videos by category and user with pagination
-    public Page<Video> getVideosByCategoryAndUser(Long categoryId, Long userId, int page, int size, String sortBy, String sortDir) {
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getVideosByCategoryAndUser(Long categoryId, Long userId, int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return videoRepository.findByCategoryIdAndUserIdAndIsActiveTrue(categoryId, userId, pageable);
+        if (countMode != CountMode.EXACT) {
+            return ApproximatePage.fromSlice(videoRepository.findVideoItemsSliceByCategoryAndUser(categoryId, userId, pageable));
+        }
+        return videoRepository.findVideoItemsByCategoryAndUser(categoryId, userId, pageable);
+    }
+    
+    // Scroll videos by category and user with a keyset cursor
+    @Transactional(readOnly = true)
+    public KeysetPage<VideoListItem> scrollVideosByCategoryAndUser(Long categoryId, Long userId, String cursor, int size, String sortBy, String sortDir) {
+        Sort sort = KeysetCursor.sort(sortBy, sortDir, KEYSET_SORT_PROPERTIES);
+        ScrollPosition position = KeysetCursor.decode(cursor, sort);
+        return listItems(KeysetPage.of(videoRepository.findKeysByCategoryIdAndUserIdAndIsActiveTrue(categoryId, userId, position, sort, Limit.of(size)), position, sort));
     }
     
-    // Get most viewed videos
-    public Page<Video> getMostViewedVideos(int page, int size) {
+    // Get most viewed videos (from the in-memory leaderboard within its capacity)
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getMostViewedVideos(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return videoRepository.findMostViewedVideos(pageable);
+        Page<VideoListItem> ranked = rankedPage(VideoRankings.Board.VIEWS, pageable);
+        return ranked != null ? ranked : videoRepository.findMostViewedVideoItems(pageable);
     }
     
-    // Get most liked videos
-    public Page<Video> getMostLikedVideos(int page, int size) {
+    // Get most liked videos (from the in-memory leaderboard within its capacity)
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getMostLikedVideos(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return videoRepository.findMostLikedVideos(pageable);
+        Page<VideoListItem> ranked = rankedPage(VideoRankings.Board.LIKES, pageable);
+        return ranked != null ? ranked : videoRepository.findMostLikedVideoItems(pageable);
+    }
+    
+    // Get trending videos (time-decayed views and likes), recent videos until the rankings are built
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getTrendingVideos(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<VideoListItem> ranked = rankedPage(VideoRankings.Board.TRENDING, pageable);
+        return ranked != null ? ranked : videoRepository.findRecentVideoItems(pageable);
+    }
+    
+    // A page of a leaderboard, null when the rankings cannot answer it
+    private Page<VideoListItem> rankedPage(VideoRankings.Board board, Pageable pageable) {
+        if (!videoRankings.isReady() || pageable.getOffset() + pageable.getPageSize() > videoRankings.capacity()) {
+            return null;
+        }
+        List<Long> ids = videoRankings.top(board, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(listItems(ids), pageable, videoRankings.size(board));
+    }
+    
+    // Active list rows for the given ids in the same order, one joined query
+    private List<VideoListItem> listItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, VideoListItem> items = new HashMap<>();
+        for (VideoListItem item : videoRepository.findVideoItemsByIdIn(ids)) {
+            items.put(item.getId(), item);
+        }
+        List<VideoListItem> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            VideoListItem item = items.get(id);
+            if (item != null) {
+                content.add(item);
+            }
+        }
+        return content;
+    }
+    
+    private Page<VideoListItem> listItems(Page<Long> ids) {
+        return new PageImpl<>(listItems(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+    
+    private Page<VideoListItem> listItems(Slice<Long> ids) {
+        return ApproximatePage.fromSlice(new SliceImpl<>(listItems(ids.getContent()), ids.getPageable(), ids.hasNext()));
+    }
+    
+    private KeysetPage<VideoListItem> listItems(KeysetPage<VideoKey> keys) {
+        List<Long> ids = keys.getContent().stream().map(VideoKey::getId).toList();
+        return new KeysetPage<>(listItems(ids), keys.getNextCursor(), keys.getPreviousCursor());
     }
     
     // Get recent videos
-    public Page<Video> getRecentVideos(int page, int size) {
+    @Transactional(readOnly = true)
+    public Page<VideoListItem> getRecentVideos(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return videoRepository.findRecentVideos(pageable);
+        return videoRepository.findRecentVideoItems(pageable);
     }
     
     // Get video by ID
+    @Transactional(readOnly = true)
     public Optional<Video> getVideoById(Long id) {
         return videoRepository.findById(id);
     }
     
+    // Get active video with its category and user for display
+    @Transactional(readOnly = true)
+    public Optional<VideoDetail> getActiveVideoDetail(Long id) {
+        return videoRepository.findDetailById(id)
+            .filter(video -> video.getIsActive());
+    }
+    
     // Get active video by ID
+    @Transactional(readOnly = true)
     public Optional<Video> getActiveVideoById(Long id) {
         return videoRepository.findById(id)
             .filter(video -> video.getIsActive());
@@ -130,7 +356,11 @@ public class VideoService {
         video.setCategory(category);
         video.setUser(user);
         
-        return videoRepository.save(video);
+        Video saved = videoRepository.save(video);
+        catalogSearchIndex.onVideoChanged(saved);
+        videoRankings.onVideoChanged(saved);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.VIDEOS, false, Boolean.TRUE.equals(saved.getIsActive()));
+        return saved;
     }
     
     // Update video
@@ -150,27 +380,58 @@ public class VideoService {
         video.setDescription(videoDetails.getDescription());
         video.setUrl(videoDetails.getUrl());
         video.setDuration(videoDetails.getDuration());
+        boolean wasActive = Boolean.TRUE.equals(video.getIsActive());
         video.setIsActive(videoDetails.getIsActive());
+        // Shown or hidden by hand, no longer restored by a parent's reactivation
+        if (wasActive != Boolean.TRUE.equals(videoDetails.getIsActive())) {
+            video.setDeactivatedByCascade(false);
+        }
         video.setCategory(category);
         video.setUser(user);
         
-        return videoRepository.save(video);
+        Video saved = videoRepository.save(video);
+        catalogSearchIndex.onVideoChanged(saved);
+        videoRankings.onVideoChanged(saved);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.VIDEOS, wasActive, Boolean.TRUE.equals(saved.getIsActive()));
+        return saved;
     }
     
     // Soft delete video (deactivate)
     public void deactivateVideo(Long id) {
         Video video = videoRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
+        boolean wasActive = Boolean.TRUE.equals(video.getIsActive());
         video.setIsActive(false);
+        video.setDeactivatedByCascade(false);
         videoRepository.save(video);
+        catalogSearchIndex.onVideoChanged(video);
+        videoRankings.onVideoChanged(video);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.VIDEOS, wasActive, false);
     }
     
     // Activate video
     public void activateVideo(Long id) {
         Video video = videoRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
+        boolean wasActive = Boolean.TRUE.equals(video.getIsActive());
         video.setIsActive(true);
+        video.setDeactivatedByCascade(false);
         videoRepository.save(video);
+        catalogSearchIndex.onVideoChanged(video);
+        videoRankings.onVideoChanged(video);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.VIDEOS, wasActive, true);
+    }
+    
+    // Flip the active flag, reading it in the same read-write transaction; returns the new state
+    public boolean toggleVideoActive(Long id) {
+        Video video = videoRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
+        if (Boolean.TRUE.equals(video.getIsActive())) {
+            deactivateVideo(id);
+            return false;
+        }
+        activateVideo(id);
+        return true;
     }
     
     // Hard delete video
@@ -178,35 +439,146 @@ public class VideoService {
         Video video = videoRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
         videoRepository.delete(video);
+        catalogSearchIndex.onVideoRemoved(id);
+        videoRankings.onVideoRemoved(id);
+        activeCounters.onActiveChanged(ActiveCounters.Kind.VIDEOS, Boolean.TRUE.equals(video.getIsActive()), false);
+    }
+    
+    // Activate or deactivate the given videos, returns the number changed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long setVideosActive(List<Long> ids, boolean active) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return videoBulkOperations.setActive(active, "id = ANY(?)", (Object) VideoBulkOperations.toArray(ids));
+    }
+    
+    // Activate or deactivate every video the filtered list shows, returns the number changed.
+    // The list shows active videos only, so activating by filter changes nothing.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long setVideosActive(VideoFilter filter, boolean active) {
+        List<Object> args = new ArrayList<>();
+        String condition = filterCondition(filter, args);
+        return condition == null ? 0 : videoBulkOperations.setActive(active, condition, args.toArray());
+    }
+    
+    // Hard delete the given videos, returns the number deleted
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteVideos(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return videoBulkOperations.delete("id = ANY(?)", (Object) VideoBulkOperations.toArray(ids));
+    }
+    
+    // Hard delete every video the filtered list shows, returns the number deleted
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long deleteVideos(VideoFilter filter) {
+        List<Object> args = new ArrayList<>();
+        String condition = filterCondition(filter, args);
+        return condition == null ? 0 : videoBulkOperations.delete(condition, args.toArray());
+    }
+    
+    // SQL condition for the rows of the filtered list (active videos, keywords match as in
+    // searchVideos); null when nothing can match
+    private String filterCondition(VideoFilter filter, List<Object> args) {
+        if (filter.isEmpty()) {
+            throw new RuntimeException("Cần ít nhất một điều kiện lọc (từ khóa, danh mục hoặc người tạo)");
+        }
+        List<String> conditions = new ArrayList<>();
+        conditions.add("is_active = true");
+        if (filter.getCategoryId() != null) {
+            conditions.add("category_id = ?");
+            args.add(filter.getCategoryId());
+        }
+        if (filter.getUserId() != null) {
+            conditions.add("user_id = ?");
+            args.add(filter.getUserId());
+        }
+        if (filter.hasKeyword()) {
+            String keywordCondition = keywordCondition(filter.getKeyword(), args);
+            if (keywordCondition == null) {
+                return null;
+            }
+            conditions.add(keywordCondition);
+        }
+        return String.join(" AND ", conditions);
     }
     
-    // Increment view count
+    private String keywordCondition(String keyword, List<Object> args) {
+        if (searchMode == SearchMode.FULLTEXT) {
+            String query = FullTextQuery.toPrefixQuery(keyword);
+            if (query == null) {
+                return null;
+            }
+            args.add(query);
+            return "search_vector @@ to_tsquery('simple', f_unaccent(?))";
+        }
+        if (searchMode == SearchMode.NGRAM && catalogSearchIndex.isReady()) {
+            int[] ids = catalogSearchIndex.searchVideos(keyword);
+            if (ids != null && ids.length <= maxSearchCandidates) {
+                if (ids.length == 0) {
+                    return null;
+                }
+                args.add(VideoBulkOperations.toArray(CatalogSearchIndex.toIds(ids)));
+                return "id = ANY(?)";
+            }
+        }
+        String pattern = "%" + keyword + "%";
+        args.add(pattern);
+        args.add(pattern);
+        return "(LOWER(title) LIKE LOWER(?) OR LOWER(description) LIKE LOWER(?))";
+    }
+    
+    // Increment view count (buffered and flushed in batches when enabled)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void incrementViews(Long id) {
-        Video video = videoRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
-        video.setViews(video.getViews() + 1);
-        videoRepository.save(video);
+        if (viewCountBuffer.isEnabled()) {
+            viewCountBuffer.record(id);
+            return;
+        }
+        if (videoRepository.addViews(id, 1L) == 0) {
+            throw new RuntimeException("Không tìm thấy video với ID: " + id);
+        }
+        videoRankings.recordViews(id, 1L);
+        changeStamps.touch(ChangeStamps.Table.VIDEOS);
+    }
+    
+    // Views recorded in the buffer but not yet written to the database, no database access
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getPendingViews(Long id) {
+        return viewCountBuffer.getPendingViews(id);
     }
     
-    // Increment like count
+    // Increment like count (not deduplicated, see VideoLikeService for per-user likes)
     public void incrementLikes(Long id) {
-        Video video = videoRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Không tìm thấy video với ID: " + id));
-        video.setLikes(video.getLikes() + 1);
-        videoRepository.save(video);
+        if (videoRepository.addLikes(id, 1L) == 0) {
+            throw new RuntimeException("Không tìm thấy video với ID: " + id);
+        }
+        videoRankings.recordLikes(id, 1L);
+        changeStamps.touch(ChangeStamps.Table.VIDEOS);
     }
     
     // Count active videos
+    @Transactional(readOnly = true)
     public long countActiveVideos() {
         return videoRepository.countByIsActiveTrue();
     }
     
     // Count videos by category
+    @Transactional(readOnly = true)
     public long countVideosByCategory(Long categoryId) {
         return videoRepository.countByCategoryIdAndIsActiveTrue(categoryId);
     }
     
+    // Totals shown on the category detail and delete pages
+    @Transactional(readOnly = true)
+    public CategoryStats getCategoryStats(Long categoryId) {
+        return videoRepository.getCategoryStats(categoryId);
+    }
+    
     // Count videos by user
+    @Transactional(readOnly = true)
     public long countVideosByUser(Long userId) {
         return videoRepository.countByUserIdAndIsActiveTrue(userId);
     }
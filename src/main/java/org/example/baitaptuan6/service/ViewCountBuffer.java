@@ -0,0 +1,185 @@
+package org.example.baitaptuan6.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.baitaptuan6.ranking.VideoRankings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Write-behind buffer for video view counts.
+// Views are collected in per-video LongAdders and flushed as batched
+// "views = views + ?" statements on a schedule, when the number of pending
+// views reaches a threshold, and on shutdown.
+@Component
+public class ViewCountBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCountBuffer.class);
+
+    private static final String FLUSH_SQL = "UPDATE videos SET views = views + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Adders evicted from the map on the previous flush; a writer may still have
+    // incremented one after it was drained, so they are drained once more.
+    private final ConcurrentLinkedQueue<Map.Entry<Long, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder pendingViews = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VideoRankings videoRankings;
+
+    @Autowired
+    private ChangeStamps changeStamps;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.views.buffer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.views.buffer.flush-threshold:10000}")
+    private long flushThreshold;
+
+    @Value("${app.views.buffer.batch-size:500}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Record one view for the given video
+    public void record(Long videoId) {
+        pending.computeIfAbsent(videoId, id -> new LongAdder()).increment();
+        pendingViews.increment();
+        if (pendingViews.sum() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    // Views recorded but not yet written for a video
+    public long getPendingViews(Long videoId) {
+        LongAdder adder = pending.get(videoId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.buffer.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    // Write all pending deltas to the database, returns the number of views flushed.
+    // Views of videos that no longer exist are dropped.
+    public long flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return 0L;
+            }
+            Map<Long, Long> written;
+            try {
+                written = write(deltas);
+            } catch (RuntimeException e) {
+                log.warn("Flushing {} view counters failed, keeping them for the next flush", deltas.size(), e);
+                deltas.forEach((id, delta) -> {
+                    pending.computeIfAbsent(id, key -> new LongAdder()).add(delta);
+                    pendingViews.add(delta);
+                });
+                return 0L;
+            }
+            written.forEach(videoRankings::recordViews);
+            return written.values().stream().mapToLong(Long::longValue).sum();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Sorted by id so concurrent flushers always lock rows in the same order
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        int retiredCount = retired.size();
+        for (int i = 0; i < retiredCount; i++) {
+            Map.Entry<Long, LongAdder> entry = retired.poll();
+            if (entry == null) {
+                break;
+            }
+            collect(deltas, entry.getKey(), entry.getValue().sumThenReset());
+        }
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0L && pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry);
+            }
+            collect(deltas, entry.getKey(), delta);
+        }
+        return deltas;
+    }
+
+    private void collect(Map<Long, Long> deltas, Long id, long delta) {
+        if (delta != 0L) {
+            deltas.merge(id, delta, Long::sum);
+            pendingViews.add(-delta);
+        }
+    }
+
+    // Returns the deltas of the rows that were found
+    private Map<Long, Long> write(Map<Long, Long> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> args.add(new Object[]{delta, id}));
+        Map<Long, Long> written = new TreeMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < args.size(); from += batchSize) {
+                List<Object[]> batch = args.subList(from, Math.min(from + batchSize, args.size()));
+                int[] counts = jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] != 0) {
+                        written.put((Long) batch.get(i)[1], (Long) batch.get(i)[0]);
+                    }
+                }
+            }
+            changeStamps.touch(ChangeStamps.Table.VIDEOS);
+        });
+        return written;
+    }
+}
@@ -0,0 +1,47 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE users (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   varchar(50)  NOT NULL,
+    email      varchar(100) NOT NULL,
+    password   varchar(255) NOT NULL,
+    full_name  varchar(100) NOT NULL,
+    role       varchar(255) NOT NULL CHECK (role IN ('ADMIN', 'USER')),
+    is_active  boolean      NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(100) NOT NULL,
+    description varchar(500),
+    is_active   boolean      NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6)
+);
+
+CREATE TABLE videos (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       varchar(200)  NOT NULL,
+    description varchar(1000),
+    url         varchar(500)  NOT NULL,
+    duration    integer,
+    views       bigint        NOT NULL,
+    likes       bigint        NOT NULL,
+    is_active   boolean       NOT NULL,
+    created_at  timestamp(6)  NOT NULL,
+    updated_at  timestamp(6),
+    category_id bigint        NOT NULL REFERENCES categories (id),
+    user_id     bigint        NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE video_likes (
+    video_id   bigint       NOT NULL REFERENCES videos (id) ON DELETE CASCADE,
+    user_id    bigint       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (video_id, user_id)
+);
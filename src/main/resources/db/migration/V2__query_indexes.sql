@@ -0,0 +1,32 @@
+-- Indexes for the repository queries. Lists only show active rows, so the sort
+-- indexes are partial on is_active; they also answer countByIsActiveTrue with an
+-- index-only scan. Every sort index ends with id, the keyset tie-breaker.
+
+-- VideoRepository: active lists sorted by title (default), views, likes, created_at
+CREATE INDEX IF NOT EXISTS idx_videos_active_title ON videos (title, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_videos_active_views ON videos (views DESC, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_videos_active_likes ON videos (likes DESC, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_videos_active_created_at ON videos (created_at DESC, id) WHERE is_active;
+
+-- VideoRepository: active videos by category / user / both
+CREATE INDEX IF NOT EXISTS idx_videos_active_category_title ON videos (category_id, title, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_videos_active_category_created_at ON videos (category_id, created_at DESC, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_videos_active_user_title ON videos (user_id, title, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_videos_active_category_user ON videos (category_id, user_id, title, id) WHERE is_active;
+
+-- Foreign keys: category statistics (all videos of a category) and deletes of categories and users
+CREATE INDEX IF NOT EXISTS idx_videos_category_id ON videos (category_id);
+CREATE INDEX IF NOT EXISTS idx_videos_user_id ON videos (user_id);
+
+-- VideoLikeRepository: the primary key covers (video_id, user_id); deletes of users need user_id
+CREATE INDEX IF NOT EXISTS idx_video_likes_user_id ON video_likes (user_id);
+
+-- UserRepository: active lists sorted by username (default) or full name, filtered by role
+CREATE INDEX IF NOT EXISTS idx_users_active_username ON users (username, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_users_active_full_name ON users (full_name, id) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_users_active_role_username ON users (role, username, id) WHERE is_active;
+
+-- CategoryRepository: list sorted by name and exact name checks (existsByNameAndIdNot),
+-- findByNameIgnoreCase compares upper(name)
+CREATE INDEX IF NOT EXISTS idx_categories_name ON categories (name, id);
+CREATE INDEX IF NOT EXISTS idx_categories_upper_name ON categories (upper(name));
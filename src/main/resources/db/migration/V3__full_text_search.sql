@@ -0,0 +1,25 @@
+-- Full-text search (app.search.mode=fulltext): unaccented, weighted tsvector columns with GIN indexes.
+-- Idempotent: databases set up before migrations already have these objects from the startup initializer.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE, an IMMUTABLE wrapper is needed for generated columns and indexes
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, $1) $$;
+
+ALTER TABLE videos ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', f_unaccent(coalesce(title, ''))), 'A') ||
+    setweight(to_tsvector('simple', f_unaccent(coalesce(description, ''))), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_videos_search_vector ON videos USING gin (search_vector);
+
+ALTER TABLE categories ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', f_unaccent(coalesce(name, ''))), 'A') ||
+    setweight(to_tsvector('simple', f_unaccent(coalesce(description, ''))), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_categories_search_vector ON categories USING gin (search_vector);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', f_unaccent(coalesce(username, ''))), 'A') ||
+    setweight(to_tsvector('simple', f_unaccent(coalesce(full_name, ''))), 'A') ||
+    setweight(to_tsvector('simple', f_unaccent(coalesce(email, ''))), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_users_search_vector ON users USING gin (search_vector);
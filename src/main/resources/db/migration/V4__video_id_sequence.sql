@@ -0,0 +1,10 @@
+-- Video ids come from a sequence with pooled allocation (50 ids per nextval) so that
+-- inserts can be batched; identity columns force one round trip per row.
+-- Each nextval returns the highest id of a block, the block is (value - 49 .. value).
+
+CREATE SEQUENCE videos_seq INCREMENT BY 50 MINVALUE 1;
+SELECT setval('videos_seq', COALESCE((SELECT MAX(id) FROM videos), 0) + 50, false);
+
+ALTER TABLE videos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE videos ALTER COLUMN id SET DEFAULT nextval('videos_seq');
+ALTER SEQUENCE videos_seq OWNED BY videos.id;
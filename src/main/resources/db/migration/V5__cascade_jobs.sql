@@ -0,0 +1,20 @@
+-- Videos hidden because their category or user was deactivated, so that reactivating
+-- the parent restores only those and not videos that were hidden on their own.
+ALTER TABLE videos ADD COLUMN deactivated_by_cascade boolean NOT NULL DEFAULT false;
+
+-- Propagation of a category or user deactivation, reactivation or deletion to its videos.
+-- Jobs left pending or running are resumed on startup.
+CREATE TABLE cascade_jobs (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    target     varchar(20)  NOT NULL CHECK (target IN ('CATEGORY', 'USER')),
+    target_id  bigint       NOT NULL,
+    action     varchar(20)  NOT NULL CHECK (action IN ('DEACTIVATE', 'ACTIVATE', 'DELETE')),
+    status     varchar(20)  NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED')),
+    background boolean      NOT NULL,
+    total      bigint       NOT NULL,
+    processed  bigint       NOT NULL,
+    error      varchar(1000),
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6)
+);
+CREATE INDEX idx_cascade_jobs_unfinished ON cascade_jobs (id) WHERE status IN ('PENDING', 'RUNNING');
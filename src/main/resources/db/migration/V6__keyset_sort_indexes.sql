@@ -0,0 +1,12 @@
+-- Keyset pages order by (column DESC, id DESC) or both ascending. The descending sort
+-- indexes of V2 ended with id ascending, which neither scan direction matches, so they
+-- are recreated with the tie-breaker in the same direction as the column before it.
+DROP INDEX IF EXISTS idx_videos_active_views;
+DROP INDEX IF EXISTS idx_videos_active_likes;
+DROP INDEX IF EXISTS idx_videos_active_created_at;
+DROP INDEX IF EXISTS idx_videos_active_category_created_at;
+
+CREATE INDEX idx_videos_active_views ON videos (views DESC, id DESC) WHERE is_active;
+CREATE INDEX idx_videos_active_likes ON videos (likes DESC, id DESC) WHERE is_active;
+CREATE INDEX idx_videos_active_created_at ON videos (created_at DESC, id DESC) WHERE is_active;
+CREATE INDEX idx_videos_active_category_created_at ON videos (category_id, created_at DESC, id DESC) WHERE is_active;
@@ -0,0 +1,19 @@
+// Bulk actions on list pages.
+// Row checkboxes are <input name="ids" form="bulkForm">, so they can live in a table whose rows
+// hold their own forms. A checkbox with data-bulk-toggle="bulkForm" checks or clears them all,
+// and a form with data-bulk-confirm asks before submitting.
+document.querySelectorAll('[data-bulk-toggle]').forEach(function (toggle) {
+    toggle.addEventListener('change', function () {
+        document.querySelectorAll('input[name=ids][form="' + toggle.dataset.bulkToggle + '"]').forEach(function (box) {
+            box.checked = toggle.checked;
+        });
+    });
+});
+
+document.querySelectorAll('form[data-bulk-confirm]').forEach(function (form) {
+    form.addEventListener('submit', function (event) {
+        if (!window.confirm(form.dataset.bulkConfirm)) {
+            event.preventDefault();
+        }
+    });
+});
@@ -0,0 +1,53 @@
+// Typeahead pickers.
+// Markup: <div data-typeahead="/admin/api/typeahead/users" data-label="fullName"> holding a hidden
+// input that carries the selected id, a text input and an empty .dropdown-menu.
+document.querySelectorAll('[data-typeahead]').forEach(function (picker) {
+    const url = picker.dataset.typeahead;
+    const labelKey = picker.dataset.label || 'name';
+    const hidden = picker.querySelector('input[type=hidden]');
+    const input = picker.querySelector('input[type=text]');
+    const menu = picker.querySelector('.dropdown-menu');
+    let timer = null;
+    let sequence = 0;
+
+    function render(items) {
+        menu.innerHTML = '';
+        items.forEach(function (item) {
+            const option = document.createElement('button');
+            option.type = 'button';
+            option.className = 'dropdown-item';
+            option.textContent = item[labelKey];
+            // mousedown fires before the input loses focus and hides the menu
+            option.addEventListener('mousedown', function (event) {
+                event.preventDefault();
+                hidden.value = item.id;
+                input.value = item[labelKey];
+                menu.classList.remove('show');
+            });
+            menu.appendChild(option);
+        });
+        menu.classList.toggle('show', items.length > 0);
+    }
+
+    function load() {
+        // Only the latest request may render, responses can arrive out of order
+        const current = ++sequence;
+        fetch(url + '?q=' + encodeURIComponent(input.value.trim()))
+            .then(function (response) { return response.json(); })
+            .then(function (items) {
+                if (current === sequence) {
+                    render(items);
+                }
+            });
+    }
+
+    input.addEventListener('input', function () {
+        hidden.value = '';
+        clearTimeout(timer);
+        timer = setTimeout(load, 150);
+    });
+    input.addEventListener('focus', load);
+    input.addEventListener('blur', function () {
+        menu.classList.remove('show');
+    });
+});
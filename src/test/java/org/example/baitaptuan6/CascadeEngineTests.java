@@ -0,0 +1,150 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.cascade.CascadeEngine;
+import org.example.baitaptuan6.entity.CascadeJob;
+import org.example.baitaptuan6.service.CategoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Small cascades run in the caller's transaction and fail with it, larger ones run after the
+// commit and report through the job row; a failed background job can be retried
+@SpringBootTest
+class CascadeEngineTests {
+
+    private static final String PREFIX = "Cascade zqx ";
+
+    @Autowired
+    private CascadeEngine cascadeEngine;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    private long categoryId;
+
+    private long first;
+
+    private long second;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, PREFIX);
+        categoryId = catalog.category("category", true);
+        long userId = catalog.user("user", true);
+        first = catalog.video("a", categoryId, userId, true);
+        second = catalog.video("b", categoryId, userId, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(cascadeEngine, "inlineThreshold", 1000L);
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS cascade_test_failure ON videos");
+        jdbcTemplate.execute("DROP FUNCTION IF EXISTS cascade_test_failure()");
+        jdbcTemplate.update("DELETE FROM cascade_jobs WHERE target = 'CATEGORY' AND target_id = ?", categoryId);
+        catalog.clear();
+    }
+
+    @Test
+    void smallCascadeIsDoneWhenTheCallReturns() {
+        categoryService.deactivateCategory(categoryId);
+
+        assertThat(isActive(first)).isFalse();
+        assertThat(isActive(second)).isFalse();
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM cascade_jobs WHERE target = 'CATEGORY' AND target_id = ?",
+            String.class, categoryId)).containsExactly("DONE");
+
+        CascadeJob job = categoryService.deleteCategory(categoryId);
+        assertThat(job.getStatus()).isEqualTo(CascadeJob.Status.DONE);
+        assertThat(job.getBackground()).isFalse();
+        assertThat(job.getProcessed()).isEqualTo(2);
+        assertThat(categoryExists()).isFalse();
+    }
+
+    @Test
+    void failedSmallCascadeRollsBackTheParentChange() {
+        failVideoChanges();
+
+        assertThatThrownBy(() -> categoryService.deactivateCategory(categoryId))
+            .hasMessageContaining("cascade test failure");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT is_active FROM categories WHERE id = ?", Boolean.class, categoryId)).isTrue();
+        assertThat(isActive(first)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cascade_jobs WHERE target = 'CATEGORY' AND target_id = ?",
+            Long.class, categoryId)).isZero();
+    }
+
+    @Test
+    void largeCascadeRunsAfterTheCommit() throws InterruptedException {
+        ReflectionTestUtils.setField(cascadeEngine, "inlineThreshold", 1L);
+
+        CascadeJob job = categoryService.deleteCategory(categoryId);
+        assertThat(job.getStatus()).isEqualTo(CascadeJob.Status.PENDING);
+        assertThat(job.getBackground()).isTrue();
+
+        CascadeJob finished = await(job.getId(), CascadeJob.Status.DONE);
+        assertThat(finished.getProcessed()).isEqualTo(2);
+        assertThat(categoryExists()).isFalse();
+    }
+
+    @Test
+    void failedBackgroundJobCanBeRetried() throws InterruptedException {
+        ReflectionTestUtils.setField(cascadeEngine, "inlineThreshold", 1L);
+        failVideoChanges();
+
+        Long jobId = categoryService.deleteCategory(categoryId).getId();
+        CascadeJob failed = await(jobId, CascadeJob.Status.FAILED);
+        assertThat(failed.getError()).contains("cascade test failure");
+        assertThat(categoryExists()).isTrue();
+        assertThatThrownBy(() -> cascadeEngine.retry(categoryId + 1_000_000_000L))
+            .hasMessageContaining("Không tìm thấy tác vụ");
+
+        jdbcTemplate.execute("DROP TRIGGER cascade_test_failure ON videos");
+        cascadeEngine.retry(jobId);
+        await(jobId, CascadeJob.Status.DONE);
+        assertThat(categoryExists()).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM videos WHERE id = ANY(?)", Long.class,
+            (Object) new Long[]{first, second})).isZero();
+        assertThatThrownBy(() -> cascadeEngine.retry(jobId))
+            .hasMessageContaining("Chỉ chạy lại được tác vụ bị lỗi");
+    }
+
+    // Any update or delete of this test's videos raises an error
+    private void failVideoChanges() {
+        jdbcTemplate.execute("CREATE FUNCTION cascade_test_failure() RETURNS trigger AS $$ "
+            + "BEGIN RAISE EXCEPTION 'cascade test failure'; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER cascade_test_failure BEFORE UPDATE OR DELETE ON videos FOR EACH ROW "
+            + "WHEN (OLD.title LIKE '" + PREFIX + "%') EXECUTE FUNCTION cascade_test_failure()");
+    }
+
+    private CascadeJob await(Long jobId, CascadeJob.Status status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            CascadeJob job = cascadeEngine.getJob(jobId).orElseThrow();
+            if (job.getStatus() == status || System.currentTimeMillis() > deadline) {
+                assertThat(job.getStatus()).isEqualTo(status);
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private boolean isActive(long videoId) {
+        return jdbcTemplate.queryForObject("SELECT is_active FROM videos WHERE id = ?", Boolean.class, videoId);
+    }
+
+    private boolean categoryExists() {
+        return !jdbcTemplate.queryForList("SELECT id FROM categories WHERE id = ?", Long.class, categoryId).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.metrics.StatementCounter;
+import org.example.baitaptuan6.service.CategoryService;
+import org.example.baitaptuan6.service.VideoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Admin pages answer 304 to a current If-None-Match without touching the database,
+// and any committed write, through the entities or with JDBC, changes the ETag.
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    private static final String CATEGORY_NAME = "Conditional GET category";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM categories WHERE name = ?", CATEGORY_NAME);
+        new TestCatalog(jdbcTemplate, "Conditional zqx ").clear();
+    }
+
+    @Test
+    void currentListPageIsNotRenderedAgain() throws Exception {
+        String etag = etag("/admin/categories");
+
+        mockMvc.perform(get("/admin/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+        assertThat(StatementCounter.get()).isZero();
+    }
+
+    @Test
+    void writesChangeTheListEtag() throws Exception {
+        String initial = etag("/admin/categories");
+
+        Category category = new Category();
+        category.setName(CATEGORY_NAME);
+        Long id = categoryService.createCategory(category).getId();
+        String created = etag("/admin/categories");
+        assertThat(created).isNotEqualTo(initial);
+
+        categoryService.setCategoriesActive(List.of(id), false);
+        assertThat(etag("/admin/categories")).isNotEqualTo(created);
+    }
+
+    @Test
+    void likesChangeTheListEtag() throws Exception {
+        TestCatalog catalog = new TestCatalog(jdbcTemplate, "Conditional zqx ");
+        long video = catalog.video("video", catalog.category("category", true), catalog.user("user", true), true);
+        String etag = etag("/admin/videos");
+
+        videoService.incrementLikes(video);
+        assertThat(catalog.likes(video)).isEqualTo(1);
+        assertThat(etag("/admin/videos")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void detailEtagFollowsUpdatedAt() throws Exception {
+        Category category = new Category();
+        category.setName(CATEGORY_NAME);
+        Long id = categoryService.createCategory(category).getId();
+        String etag = etag("/admin/categories/" + id);
+
+        mockMvc.perform(get("/admin/categories/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        category.setDescription("Changed");
+        categoryService.updateCategory(id, category);
+        mockMvc.perform(get("/admin/categories/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void pagesWithFlashMessagesAreNotValidated() throws Exception {
+        String etag = etag("/admin/categories");
+
+        mockMvc.perform(get("/admin/categories").header(HttpHeaders.IF_NONE_MATCH, etag)
+                .flashAttr("successMessage", "Done"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
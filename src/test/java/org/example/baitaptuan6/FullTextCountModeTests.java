@@ -0,0 +1,113 @@
+package org.example.baitaptuan6;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.baitaptuan6.dto.VideoListItem;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.paging.ApproximatePage;
+import org.example.baitaptuan6.service.CategoryService;
+import org.example.baitaptuan6.service.UserService;
+import org.example.baitaptuan6.service.VideoService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Full-text search pages skip the COUNT(*) query unless app.pagination.count=exact
+@SpringBootTest(properties = {
+    "app.search.mode=fulltext",
+    "app.pagination.count=slice",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FullTextCountModeTests {
+
+    private static final String KEYWORD = "zqxfulltext";
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestCatalog catalog;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, KEYWORD + " ");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.clear();
+    }
+
+    @Test
+    void categorySearchReadsOneSliceWithoutCounting() {
+        for (String name : new String[] {"a", "b", "c"}) {
+            catalog.category(name, true);
+        }
+
+        statistics.clear();
+        Page<Category> ranked = categoryService.searchCategories(KEYWORD, 0, 2, "relevance", "asc");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(ranked.getContent()).hasSize(2);
+        assertThat(ApproximatePage.totalKind(ranked)).isEqualTo(ApproximatePage.AT_LEAST);
+
+        statistics.clear();
+        Page<Category> sorted = categoryService.searchCategories(KEYWORD, 1, 2, "name", "asc");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(sorted.getContent()).extracting(Category::getName).containsExactly(catalog.name("c"));
+        assertThat(sorted.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void userSearchReadsOneSliceWithoutCounting() {
+        catalog.user("a", true);
+        catalog.user("b", true);
+
+        statistics.clear();
+        Page<User> users = userService.searchUsers(KEYWORD, 0, 1, "username", "desc");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(users.getContent()).extracting(User::getUsername).containsExactly(catalog.name("b"));
+        assertThat(ApproximatePage.totalKind(users)).isEqualTo(ApproximatePage.AT_LEAST);
+    }
+
+    @Test
+    void videoSearchIsApproximate() {
+        long categoryId = catalog.category("category", true);
+        long userId = catalog.user("user", true);
+        catalog.video("a", categoryId, userId, true);
+        catalog.video("b", categoryId, userId, true);
+        catalog.video("c", categoryId, userId, false);
+
+        statistics.clear();
+        Page<VideoListItem> ranked = videoService.searchVideos(KEYWORD, 0, 1, "relevance", "asc");
+        assertThat(ranked.getContent()).hasSize(1);
+        assertThat(ApproximatePage.totalKind(ranked)).isEqualTo(ApproximatePage.AT_LEAST);
+
+        Page<VideoListItem> last = videoService.searchVideos(KEYWORD, 1, 1, "title", "asc");
+        assertThat(last.getContent()).extracting(VideoListItem::getTitle).containsExactly(catalog.name("b"));
+        assertThat(last.getTotalElements()).isEqualTo(2);
+        assertThat(ApproximatePage.totalKind(last)).isEqualTo(ApproximatePage.EXACT);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Category and user list pages scroll by cursor in keyset mode; a cursor only works with
+// the sort it was issued for, under another one the list starts over.
+@SpringBootTest(properties = "app.pagination.mode=keyset")
+@AutoConfigureMockMvc
+class KeysetListTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    @AfterEach
+    void tearDown() {
+        if (catalog != null) {
+            catalog.clear();
+        }
+    }
+
+    @Test
+    void categoriesScrollByCursor() throws Exception {
+        catalog = new TestCatalog(jdbcTemplate, "~~keyset-");
+        catalog.category("a", true);
+        catalog.category("b", true);
+        catalog.category("c", false);
+        catalog.category("d", true);
+
+        // The prefix sorts after the seed data, so the last page by name descending is ours
+        KeysetPage<Category> first = page(mockMvc.perform(get("/admin/categories")
+            .param("size", "2").param("sortBy", "name").param("sortDir", "desc")).andReturn(), "categories");
+        assertThat(first.getContent()).extracting(Category::getName)
+            .containsExactly(catalog.name("d"), catalog.name("b"));
+        assertThat(first.hasPrevious()).isFalse();
+
+        KeysetPage<Category> second = page(mockMvc.perform(get("/admin/categories")
+            .param("size", "2").param("sortBy", "name").param("sortDir", "desc")
+            .param("cursor", first.getNextCursor())).andReturn(), "categories");
+        assertThat(second.getContent()).extracting(Category::getName).first().isEqualTo(catalog.name("a"));
+        assertThat(second.hasPrevious()).isTrue();
+    }
+
+    @Test
+    void usersScrollByCursorWithinRole() throws Exception {
+        catalog = new TestCatalog(jdbcTemplate, "~~keyset-");
+        catalog.user("a", true);
+        catalog.user("b", true);
+
+        KeysetPage<User> first = page(mockMvc.perform(get("/admin/users")
+            .param("size", "1").param("sortBy", "username").param("sortDir", "desc").param("role", "USER"))
+            .andExpect(status().isOk()).andReturn(), "users");
+        assertThat(first.getContent()).extracting(User::getUsername).containsExactly(catalog.name("b"));
+
+        KeysetPage<User> second = page(mockMvc.perform(get("/admin/users")
+            .param("size", "1").param("sortBy", "username").param("sortDir", "desc").param("role", "USER")
+            .param("cursor", first.getNextCursor())).andReturn(), "users");
+        assertThat(second.getContent()).extracting(User::getUsername).containsExactly(catalog.name("a"));
+    }
+
+    @Test
+    void cursorFromAnotherSortShowsThePageOne() throws Exception {
+        catalog = new TestCatalog(jdbcTemplate, "~~keyset-");
+        catalog.category("a", true);
+        catalog.category("b", true);
+
+        KeysetPage<Category> first = page(mockMvc.perform(get("/admin/categories")
+            .param("size", "1").param("sortBy", "name").param("sortDir", "desc")).andReturn(), "categories");
+
+        // A stale link after the sort changed
+        KeysetPage<Category> stale = page(mockMvc.perform(get("/admin/categories")
+                .param("size", "1").param("sortBy", "createdAt").param("sortDir", "desc")
+                .param("cursor", first.getNextCursor()))
+            .andExpect(status().isOk()).andReturn(), "categories");
+        KeysetPage<Category> pageOne = page(mockMvc.perform(get("/admin/categories")
+            .param("size", "1").param("sortBy", "createdAt").param("sortDir", "desc")).andReturn(), "categories");
+        assertThat(stale.hasPrevious()).isFalse();
+        assertThat(stale.getContent()).extracting(Category::getId)
+            .containsExactlyElementsOf(pageOne.getContent().stream().map(Category::getId).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> KeysetPage<T> page(MvcResult result, String attribute) {
+        Object page = result.getModelAndView().getModel().get(attribute);
+        assertThat(page).isInstanceOf(KeysetPage.class);
+        return (KeysetPage<T>) page;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.baitaptuan6;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Page sizes from the query string are clamped before they reach a query
+@SpringBootTest
+@AutoConfigureMockMvc
+class PageSizeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    @AfterEach
+    void tearDown() {
+        if (catalog != null) {
+            catalog.clear();
+        }
+    }
+
+    @Test
+    void categoryDetailClampsSize() throws Exception {
+        catalog = new TestCatalog(jdbcTemplate, "Page size ");
+        long id = catalog.category("category", true);
+
+        mockMvc.perform(get("/admin/categories/{id}", id).param("size", "1000000"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("size", 100));
+    }
+
+    @Test
+    void listPagesClampSize() throws Exception {
+        for (String url : new String[] {"/admin/videos", "/admin/categories", "/admin/users"}) {
+            mockMvc.perform(get(url).param("size", "1000000"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("size", 100));
+            mockMvc.perform(get(url).param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("size", 1));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.baitaptuan6;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Both pools point at the test database, told apart by their application_name.
+// The replica pool is read-only, so a write routed to it fails.
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:postgresql://localhost:5432/baitaptuan6?ApplicationName=primary",
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.jdbc-url=jdbc:postgresql://localhost:5432/baitaptuan6?ApplicationName=replica",
+    "app.datasource.replica.maximum-pool-size=2"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTests {
+
+    private static final String CATEGORY_NAME = "Replica routing category";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM categories WHERE name = ?", CATEGORY_NAME);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(pool(true)).isEqualTo("replica");
+        assertThat(pool(false)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class))
+            .isEqualTo("primary");
+    }
+
+    @Test
+    void writesInReadOnlyTransactionsFail() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThatThrownBy(() -> readOnly.executeWithoutResult(status ->
+            jdbcTemplate.update("INSERT INTO categories (name, is_active, created_at) VALUES (?, true, now())", CATEGORY_NAME)))
+            .hasMessageContaining("read-only");
+    }
+
+    @Test
+    void toggleWritesToThePrimary() throws Exception {
+        jdbcTemplate.update("INSERT INTO categories (name, is_active, created_at) VALUES (?, true, now())", CATEGORY_NAME);
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = ?", Long.class, CATEGORY_NAME);
+
+        mockMvc.perform(post("/admin/categories/{id}/toggle", id))
+            .andExpect(status().is3xxRedirection());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT is_active FROM categories WHERE id = ?", Boolean.class, id))
+            .isFalse();
+    }
+
+    @Test
+    void listPagesCarryNoEtag() throws Exception {
+        // The replica may lag behind the change stamps
+        mockMvc.perform(get("/admin/categories"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String pool(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status ->
+            jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.baitaptuan6;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every list page offers the relevance order; without a keyword it falls back to the default order
+@SpringBootTest
+@AutoConfigureMockMvc
+class RelevanceSortTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listsAcceptRelevanceWithAndWithoutKeyword() throws Exception {
+        for (String list : new String[]{"/admin/videos", "/admin/categories", "/admin/users"}) {
+            mockMvc.perform(get(list).param("sortBy", "relevance"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("value=\"relevance\"")));
+            mockMvc.perform(get(list).param("sortBy", "relevance").param("keyword", "video"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("value=\"relevance\" selected=\"selected\"")));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.baitaptuan6;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.service.CategoryService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Categories are served from the second-level cache, and writes made with JDBC
+// (bulk activation) must not leave stale rows or query results behind.
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    private static final String CATEGORY_NAME = "Second-level cache category";
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM categories WHERE name = ?", CATEGORY_NAME);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        Long id = createCategory();
+        CacheRegionStatistics region = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics().getCacheRegionStatistics("categories");
+        long hits = region.getHitCount();
+
+        assertThat(categoryService.getCategoryById(id)).isPresent();
+        assertThat(categoryService.getCategoryById(id)).isPresent();
+
+        assertThat(region.getHitCount() - hits).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void bulkDeactivationEvictsCachedRows() {
+        Long id = createCategory();
+        assertThat(categoryService.getAllActiveCategories()).extracting(Category::getId).contains(id);
+        assertThat(categoryService.getCategoryById(id)).get().extracting(Category::getIsActive).isEqualTo(true);
+
+        categoryService.setCategoriesActive(List.of(id), false);
+
+        assertThat(categoryService.getCategoryById(id)).get().extracting(Category::getIsActive).isEqualTo(false);
+        assertThat(categoryService.getAllActiveCategories()).extracting(Category::getId).doesNotContain(id);
+    }
+
+    @Test
+    void createdCategoriesInvalidateCachedQueries() {
+        categoryService.getAllActiveCategories();
+
+        Long id = createCategory();
+
+        assertThat(categoryService.getAllActiveCategories()).extracting(Category::getId).contains(id);
+    }
+
+    private Long createCategory() {
+        Category category = new Category();
+        category.setName(CATEGORY_NAME);
+        return categoryService.createCategory(category).getId();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.baitaptuan6;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Categories, users and videos inserted with JDBC for database tests, all named with a
+// per-test prefix so that clear() removes exactly what the test created.
+// The in-memory indexes do not see these rows.
+class TestCatalog {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+
+    TestCatalog(JdbcTemplate jdbcTemplate, String prefix) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = prefix;
+    }
+
+    long category(String name, boolean active) {
+        return jdbcTemplate.queryForObject("INSERT INTO categories (name, is_active, created_at) "
+            + "VALUES (?, ?, now()) RETURNING id", Long.class, prefix + name, active);
+    }
+
+    long user(String username, boolean active) {
+        String name = prefix + username;
+        return jdbcTemplate.queryForObject("INSERT INTO users (username, email, password, full_name, role, is_active, created_at) "
+            + "VALUES (?, ?, 'secret', ?, 'USER', ?, now()) RETURNING id", Long.class,
+            name, name + "@example.com", name, active);
+    }
+
+    long video(String title, long categoryId, long userId, boolean active) {
+        return jdbcTemplate.queryForObject("INSERT INTO videos (title, url, views, likes, is_active, created_at, category_id, user_id) "
+            + "VALUES (?, 'https://example.com/video', 0, 0, ?, now(), ?, ?) RETURNING id", Long.class,
+            prefix + title, active, categoryId, userId);
+    }
+
+    String name(String name) {
+        return prefix + name;
+    }
+
+    long views(long videoId) {
+        return jdbcTemplate.queryForObject("SELECT views FROM videos WHERE id = ?", Long.class, videoId);
+    }
+
+    long likes(long videoId) {
+        return jdbcTemplate.queryForObject("SELECT likes FROM videos WHERE id = ?", Long.class, videoId);
+    }
+
+    void clear() {
+        jdbcTemplate.update("DELETE FROM videos WHERE title LIKE ? OR category_id IN (SELECT id FROM categories WHERE name LIKE ?) "
+            + "OR user_id IN (SELECT id FROM users WHERE username LIKE ?)", prefix + "%", prefix + "%", prefix + "%");
+        jdbcTemplate.update("DELETE FROM categories WHERE name LIKE ?", prefix + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", prefix + "%");
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.dto.VideoFilter;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.service.VideoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Bulk actions of the video list, by checked ids and by filter; a filter covers the rows
+// the list shows, active videos matched like the search (here the trigram index)
+@SpringBootTest(properties = {
+    "app.search.mode=ngram",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class VideoBulkTests {
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    private long categoryId;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, "Bulk zqx ");
+        categoryId = catalog.category("category", true);
+        userId = catalog.user("user", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.clear();
+    }
+
+    @Test
+    void filterDeleteKeepsInactiveVideos() {
+        catalog.video("a", categoryId, userId, true);
+        catalog.video("b", categoryId, userId, true);
+        long inactive = catalog.video("c", categoryId, userId, false);
+
+        assertThat(videoService.deleteVideos(new VideoFilter(categoryId, null, null))).isEqualTo(2);
+        assertThat(titles()).containsExactly(catalog.name("c"));
+        assertThat(isActive(inactive)).isFalse();
+    }
+
+    @Test
+    void filterKeywordMatchesThroughTheSearchIndex() {
+        long dalat = create("Đà Lạt mùa hoa");
+        long other = create("Hà Nội mùa thu");
+
+        // The index folds diacritics, LIKE would not match "da lat" against "Đà Lạt"
+        assertThat(videoService.setVideosActive(new VideoFilter(null, userId, "da lat"), false)).isEqualTo(1);
+        assertThat(isActive(dalat)).isFalse();
+        assertThat(isActive(other)).isTrue();
+
+        // Already inactive rows are not part of the list any more
+        assertThat(videoService.deleteVideos(new VideoFilter(null, userId, "da lat"))).isZero();
+        assertThat(videoService.deleteVideos(new VideoFilter(null, userId, "mua"))).isEqualTo(1);
+        assertThat(titles()).containsExactly(catalog.name("Đà Lạt mùa hoa"));
+    }
+
+    @Test
+    void checkedIdsAreChangedWhateverTheirState() {
+        long a = catalog.video("a", categoryId, userId, true);
+        long b = catalog.video("b", categoryId, userId, false);
+
+        assertThat(videoService.setVideosActive(List.of(a, b), true)).isEqualTo(1);
+        assertThat(isActive(b)).isTrue();
+        assertThat(videoService.deleteVideos(List.of(a, b))).isEqualTo(2);
+        assertThat(titles()).isEmpty();
+    }
+
+    @Test
+    void emptyFilterIsRejected() {
+        assertThatThrownBy(() -> videoService.deleteVideos(new VideoFilter(null, null, " ")))
+            .hasMessage("Cần ít nhất một điều kiện lọc (từ khóa, danh mục hoặc người tạo)");
+    }
+
+    private long create(String title) {
+        Video video = new Video();
+        video.setTitle(catalog.name(title));
+        video.setUrl("https://example.com/video");
+        video.setCategory(new Category());
+        video.getCategory().setId(categoryId);
+        video.setUser(new User());
+        video.getUser().setId(userId);
+        return videoService.createVideo(video).getId();
+    }
+
+    private List<String> titles() {
+        return jdbcTemplate.queryForList("SELECT title FROM videos WHERE user_id = ? ORDER BY title", String.class, userId);
+    }
+
+    private boolean isActive(long id) {
+        return jdbcTemplate.queryForObject("SELECT is_active FROM videos WHERE id = ?", Boolean.class, id);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.importer.ImportFormat;
+import org.example.baitaptuan6.importer.ImportReport;
+import org.example.baitaptuan6.importer.VideoImporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// End-to-end import: valid rows are inserted, rejected rows are reported by line and skipped
+@SpringBootTest(properties = "app.import.batch-size=2")
+class VideoImporterTests {
+
+    @Autowired
+    private VideoImporter videoImporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, "Import ");
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.clear();
+    }
+
+    @Test
+    void csvImportReportsRejectedRows() {
+        long category = catalog.category("category", true);
+        catalog.category("hidden", false);
+        catalog.user("user", true);
+        String csv = "title,description,url,duration,category,user\n"
+            + row("first", "60", catalog.name("category"), catalog.name("user"))
+            + row("second", "", String.valueOf(category), catalog.name("user"))
+            + row("bad duration", "abc", catalog.name("category"), catalog.name("user"))
+            + row("inactive category", "10", catalog.name("hidden"), catalog.name("user"))
+            + row("unknown user", "10", catalog.name("category"), catalog.name("nobody"))
+            + row("third", "5", catalog.name("CATEGORY"), catalog.name("user"));
+
+        ImportReport report = importCsv(csv);
+
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getInserted()).isEqualTo(3);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ImportReport.RowError::line).containsExactly(4L, 5L, 6L);
+        assertThat(report.getErrors().get(0).message()).contains("Thời lượng không hợp lệ");
+        assertThat(report.getErrors().get(1).message()).contains("Danh mục không tồn tại hoặc không hoạt động");
+        assertThat(report.getErrors().get(2).message()).contains("Người dùng không tồn tại hoặc không hoạt động");
+
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM videos WHERE category_id = ? ORDER BY id", String.class, category))
+            .containsExactly(catalog.name("first"), catalog.name("second"), catalog.name("third"));
+    }
+
+    @Test
+    void ndjsonImportReportsMalformedLines() {
+        long category = catalog.category("category", true);
+        long user = catalog.user("user", true);
+        String ndjson = "{\"title\": \"" + catalog.name("first") + "\", \"url\": \"https://example.com/1\", "
+            + "\"category\": " + category + ", \"user\": " + user + "}\n"
+            + "{\"title\": \"broken\"\n"
+            + "\n"
+            + "[1, 2]\n"
+            + "{\"url\": \"https://example.com/2\", \"category\": " + category + ", \"user\": " + user + "}\n";
+
+        ImportReport report = videoImporter.importVideos(
+            new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON);
+
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ImportReport.RowError::line).containsExactly(2L, 4L, 5L);
+        assertThat(report.getErrors().get(0).message()).startsWith("JSON không hợp lệ");
+        assertThat(report.getErrors().get(1).message()).isEqualTo("Mỗi dòng phải là một đối tượng JSON");
+    }
+
+    private String row(String title, String duration, String category, String user) {
+        return catalog.name(title) + ",," + "https://example.com/" + title.replace(' ', '-') + "," + duration + ","
+            + category + "," + user + "\n";
+    }
+
+    private ImportReport importCsv(String csv) {
+        return videoImporter.importVideos(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.service.VideoLikeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// One like per user and video, also when the same like arrives on several threads at once
+@SpringBootTest
+class VideoLikeServiceTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private VideoLikeService videoLikeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, "Likes ");
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.clear();
+    }
+
+    @Test
+    void repeatedLikeIsCountedOnce() {
+        long category = catalog.category("category", true);
+        long user = catalog.user("user", true);
+        long video = catalog.video("video", category, user, true);
+
+        assertThat(videoLikeService.likeVideo(video, user)).isTrue();
+        assertThat(videoLikeService.likeVideo(video, user)).isFalse();
+
+        assertThat(catalog.likes(video)).isEqualTo(1);
+        assertThat(videoLikeService.hasLiked(video, user)).isTrue();
+    }
+
+    @Test
+    void concurrentDuplicateLikesAreCountedOnce() throws Exception {
+        long category = catalog.category("category", true);
+        long user = catalog.user("user", true);
+        long video = catalog.video("video", category, user, true);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Boolean> like = () -> {
+                    start.await();
+                    return videoLikeService.likeVideo(video, user);
+                };
+                results.add(executor.submit(like));
+            }
+            start.countDown();
+
+            int liked = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    liked++;
+                }
+            }
+            assertThat(liked).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(catalog.likes(video)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM video_likes WHERE video_id = ?", Long.class, video))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void likeOfUnknownVideoIsRejected() {
+        long user = catalog.user("user", true);
+
+        assertThatThrownBy(() -> videoLikeService.likeVideo(Long.MAX_VALUE - 1, user))
+            .hasMessage("Video hoặc người dùng không tồn tại");
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.baitaptuan6;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.baitaptuan6.dto.VideoListItem;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.entity.Video;
+import org.example.baitaptuan6.paging.KeysetPage;
+import org.example.baitaptuan6.service.VideoService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Keyset scrolls and index search hits are read as list rows, without loading Video entities
+@SpringBootTest(properties = {
+    "app.search.mode=ngram",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class VideoListProjectionTests {
+
+    @Autowired
+    private VideoService videoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestCatalog catalog;
+
+    private long categoryId;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, "Projection zqx ");
+        categoryId = catalog.category("category", true);
+        userId = catalog.user("user", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.clear();
+    }
+
+    @Test
+    void keysetScrollReadsListRows() {
+        for (String title : new String[] {"a", "b", "c"}) {
+            catalog.video(title, categoryId, userId, true);
+        }
+        Statistics statistics = statistics();
+
+        KeysetPage<VideoListItem> first = videoService.scrollVideosByCategory(categoryId, null, 2, "title", "desc");
+        KeysetPage<VideoListItem> second = videoService.scrollVideosByCategory(categoryId, first.getNextCursor(), 2, "title", "desc");
+
+        assertThat(first.getContent()).extracting(VideoListItem::getTitle).containsExactly(catalog.name("c"), catalog.name("b"));
+        assertThat(first.getContent().get(0).getCategory().getName()).isEqualTo(catalog.name("category"));
+        assertThat(second.getContent()).extracting(VideoListItem::getTitle).containsExactly(catalog.name("a"));
+        assertThat(second.hasNext()).isFalse();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void indexSearchReadsListRows() {
+        for (String title : new String[] {"b", "a"}) {
+            Video video = new Video();
+            video.setTitle(catalog.name(title));
+            video.setUrl("https://example.com/video");
+            video.setCategory(new Category());
+            video.getCategory().setId(categoryId);
+            video.setUser(new User());
+            video.getUser().setId(userId);
+            videoService.createVideo(video);
+        }
+        Statistics statistics = statistics();
+
+        Page<VideoListItem> page = videoService.searchVideos("projection zqx", 0, 10, "title", "asc");
+
+        assertThat(page.getContent()).extracting(VideoListItem::getTitle).containsExactly(catalog.name("a"), catalog.name("b"));
+        assertThat(page.getContent().get(0).getUser().getFullName()).isEqualTo(catalog.name("user"));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
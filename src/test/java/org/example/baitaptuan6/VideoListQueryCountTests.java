@@ -0,0 +1,74 @@
+package org.example.baitaptuan6;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.baitaptuan6.entity.Category;
+import org.example.baitaptuan6.entity.User;
+import org.example.baitaptuan6.entity.Video;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Guards the video list page against N+1 loading of categories and users:
+// the number of statements must not grow with the page size.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class VideoListQueryCountTests {
+
+    private static final int PAGE_SIZE = 25;
+
+    // List rows and count, with some headroom
+    private static final long MAX_STATEMENTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void videoListUsesConstantNumberOfStatements() throws Exception {
+        for (int i = 0; i < PAGE_SIZE + 5; i++) {
+            Category category = new Category();
+            category.setName("Query count category " + i);
+            entityManager.persist(category);
+
+            User user = new User();
+            user.setUsername("querycount" + i);
+            user.setEmail("querycount" + i + "@example.com");
+            user.setPassword("secret");
+            user.setFullName("Query Count " + i);
+            entityManager.persist(user);
+
+            Video video = new Video();
+            video.setTitle("Query count video " + i);
+            video.setUrl("https://example.com/video/" + i);
+            video.setCategory(category);
+            video.setUser(user);
+            entityManager.persist(video);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/admin/videos").param("size", String.valueOf(PAGE_SIZE)))
+            .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
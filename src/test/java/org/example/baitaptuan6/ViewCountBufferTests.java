@@ -0,0 +1,84 @@
+package org.example.baitaptuan6;
+
+import org.example.baitaptuan6.ranking.VideoRankings;
+import org.example.baitaptuan6.service.ViewCountBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Buffered views reach the table in one flush; views of ids without a row are dropped
+// instead of being retried or ranked. The scheduled flush is pushed out of the way.
+@SpringBootTest(properties = {
+    "app.views.buffer.enabled=true",
+    "app.views.buffer.flush-interval-ms=3600000",
+    "app.views.buffer.flush-threshold=1000000"
+})
+class ViewCountBufferTests {
+
+    private static final long UNKNOWN_ID = Long.MAX_VALUE - 1;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private VideoRankings videoRankings;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TestCatalog(jdbcTemplate, "ViewBuffer ");
+        viewCountBuffer.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.clear();
+    }
+
+    @Test
+    void flushWritesPendingViewsOnce() {
+        long category = catalog.category("category", true);
+        long user = catalog.user("user", true);
+        long video = catalog.video("video", category, user, true);
+
+        for (int i = 0; i < 3; i++) {
+            viewCountBuffer.record(video);
+        }
+        assertThat(viewCountBuffer.getPendingViews(video)).isEqualTo(3);
+        assertThat(catalog.views(video)).isZero();
+
+        assertThat(viewCountBuffer.flush()).isEqualTo(3);
+        assertThat(catalog.views(video)).isEqualTo(3);
+        assertThat(viewCountBuffer.getPendingViews(video)).isZero();
+
+        assertThat(viewCountBuffer.flush()).isZero();
+        assertThat(catalog.views(video)).isEqualTo(3);
+    }
+
+    @Test
+    void viewsOfUnknownVideosAreDropped() {
+        long category = catalog.category("category", true);
+        long user = catalog.user("user", true);
+        long video = catalog.video("video", category, user, true);
+
+        viewCountBuffer.record(video);
+        viewCountBuffer.record(UNKNOWN_ID);
+        viewCountBuffer.record(UNKNOWN_ID);
+
+        assertThat(viewCountBuffer.flush()).isEqualTo(1);
+        assertThat(catalog.views(video)).isEqualTo(1);
+        assertThat(viewCountBuffer.getPendingViews(UNKNOWN_ID)).isZero();
+        assertThat(viewCountBuffer.flush()).isZero();
+        assertThat(videoRankings.top(VideoRankings.Board.VIEWS, 0, videoRankings.capacity()))
+            .doesNotContain(UNKNOWN_ID);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.baitaptuan6.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ZipfSamplerTests {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void staysWithinRange() {
+        ZipfSampler sampler = new ZipfSampler(10, 1.2);
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(sampler.sample(random)).isBetween(1, 10);
+        }
+    }
+
+    @Test
+    void followsZipfFrequencies() {
+        int n = 100;
+        double exponent = 1.0;
+        int[] counts = new int[n + 1];
+        ZipfSampler sampler = new ZipfSampler(n, exponent);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1 / Math.pow(k, exponent);
+        }
+        for (int k : new int[] {1, 2, 10}) {
+            double expected = 1 / Math.pow(k, exponent) / harmonic;
+            assertThat(counts[k] / (double) SAMPLES).isCloseTo(expected, within(0.01));
+        }
+    }
+
+    @Test
+    void sameSeedSameSequence() {
+        ZipfSampler sampler = new ZipfSampler(1_000_000, 0.9);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample(first)).isEqualTo(sampler.sample(second));
+        }
+    }
+}
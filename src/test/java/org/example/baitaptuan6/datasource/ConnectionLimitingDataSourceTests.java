@@ -0,0 +1,57 @@
+package org.example.baitaptuan6.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTests {
+
+    private final DataSource target = mock(DataSource.class);
+    private final ConnectionLimitingDataSource dataSource =
+        new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @Test
+    void waitsForAPermitBeyondTheLimit() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void closeReleasesThePermitOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesThePermitWhenTheTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.baitaptuan6.exporter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTests {
+
+    @Test
+    void writesHeaderAndQuotesOnlyWhenNeeded() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CsvRowWriter writer = new CsvRowWriter(output, new String[]{"id", "title", "is_active", "created_at"});
+        writer.write(new Object[]{1L, "Plain title", true, LocalDateTime.of(2024, 1, 2, 3, 4, 5)});
+        writer.write(new Object[]{2L, "Comma, \"quoted\"\nand a break", false, null});
+        writer.finish();
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "id,title,is_active,created_at\r\n"
+                + "1,Plain title,true,2024-01-02T03:04:05\r\n"
+                + "2,\"Comma, \"\"quoted\"\"\nand a break\",false,\r\n");
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.baitaptuan6.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowReaderTests {
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader(
+            "\uFEFFTitle,Description,URL\n"
+                + "Plain,simple,https://a\n"
+                + "\"Comma, here\",\"He said \"\"hi\"\"\",https://b\n"
+                + "Multi,\"line one\nline two\",https://c\n"
+                + "Last,,https://d\n"));
+
+        ImportRow plain = reader.next();
+        assertThat(plain.line()).isEqualTo(2);
+        assertThat(plain.get("title")).isEqualTo("Plain");
+        assertThat(plain.get("url")).isEqualTo("https://a");
+
+        ImportRow quoted = reader.next();
+        assertThat(quoted.get("title")).isEqualTo("Comma, here");
+        assertThat(quoted.get("description")).isEqualTo("He said \"hi\"");
+
+        ImportRow multiline = reader.next();
+        assertThat(multiline.line()).isEqualTo(4);
+        assertThat(multiline.get("description")).isEqualTo("line one\nline two");
+
+        ImportRow last = reader.next();
+        assertThat(last.line()).isEqualTo(6);
+        assertThat(last.get("description")).isNull();
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void reportsMalformedRecordsAndKeepsReading() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader(
+            "title,url\n"
+                + "a,b,c\n"
+                + "\n"
+                + "ok,https://a\n"
+                + "\"unterminated,https://b\n"));
+
+        ImportRow extraColumn = reader.next();
+        assertThat(extraColumn.line()).isEqualTo(2);
+        assertThat(extraColumn.error()).isNotNull();
+
+        ImportRow ok = reader.next();
+        assertThat(ok.error()).isNull();
+        assertThat(ok.line()).isEqualTo(4);
+
+        ImportRow unterminated = reader.next();
+        assertThat(unterminated.line()).isEqualTo(5);
+        assertThat(unterminated.error()).isNotNull();
+        assertThat(reader.next()).isNull();
+    }
+}
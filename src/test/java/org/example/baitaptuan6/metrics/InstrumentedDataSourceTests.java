@@ -0,0 +1,57 @@
+package org.example.baitaptuan6.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InstrumentedDataSourceTests {
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        when(connection.createStatement()).thenAnswer(invocation -> mock(Statement.class));
+        StatementCounter.reset();
+    }
+
+    @Test
+    void countsExecutionsNotPreparations() throws SQLException {
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(target, 1000, 1.0);
+
+        try (Connection instrumented = dataSource.getConnection()) {
+            PreparedStatement select = instrumented.prepareStatement("SELECT 1");
+            select.executeQuery();
+            select.executeQuery();
+            instrumented.prepareStatement("SELECT 2");
+            instrumented.createStatement().execute("ANALYZE");
+        }
+
+        assertThat(StatementCounter.get()).isEqualTo(3);
+        assertThat(dataSource.getStatements()).isEqualTo(3);
+        assertThat(dataSource.getSlowStatements()).isZero();
+    }
+
+    @Test
+    void countsStatementsAtTheThresholdAsSlow() throws SQLException {
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(target, 0, 0.0);
+
+        try (Connection instrumented = dataSource.getConnection()) {
+            instrumented.prepareStatement("SELECT 1").executeQuery();
+        }
+
+        assertThat(dataSource.getSlowStatements()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.baitaptuan6.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetTests {
+
+    private static final String SELECT_USER = "select u1_0.id, u1_0.full_name from users u1_0 where u1_0.id=?";
+
+    private QueryBudget budget;
+
+    @AfterEach
+    void tearDown() {
+        if (budget != null) {
+            budget.close();
+        }
+    }
+
+    @Test
+    void shapeIgnoresLiteralsAndInListLength() {
+        assertThat(QueryBudget.shape("SELECT * FROM videos WHERE id IN (?, ?, ?)"))
+            .isEqualTo(QueryBudget.shape("SELECT * FROM videos WHERE id IN (?)"));
+        assertThat(QueryBudget.shape("SELECT * FROM users WHERE username = 'it''s' AND id = 42"))
+            .isEqualTo("SELECT * FROM users WHERE username = ? AND id = ?");
+        assertThat(QueryBudget.shape("SELECT  id\n  FROM videos_2 ")).isEqualTo("SELECT id FROM videos_2");
+    }
+
+    @Test
+    void logModeRecordsTheFirstViolationAndKeepsCounting() {
+        budget = new QueryBudget("AdminVideoController#listVideos", 10, 3, false);
+        budget.open();
+
+        for (int i = 0; i < 5; i++) {
+            QueryBudget.record(SELECT_USER);
+        }
+
+        assertThat(budget.getStatements()).isEqualTo(5);
+        assertThat(budget.isExceeded()).isTrue();
+        assertThat(budget.getViolation()).startsWith("statement repeated 4 times, budget 3");
+        assertThat(budget.describeShapes()).startsWith("5x select u1_0.id");
+    }
+
+    @Test
+    void failModeThrowsOnTheStatementOverTheBudget() {
+        budget = new QueryBudget("HomeController#adminDashboard", 2, 5, true);
+        budget.open();
+
+        QueryBudget.record("select count(*) from videos");
+        QueryBudget.record("select count(*) from users");
+
+        assertThatThrownBy(() -> QueryBudget.record("select count(*) from categories"))
+            .isInstanceOf(QueryBudgetExceededException.class)
+            .hasMessage("HomeController#adminDashboard: 3 statements, budget 2");
+        // Only the first statement over the budget fails
+        QueryBudget.record("select 1");
+        assertThat(budget.getStatements()).isEqualTo(4);
+    }
+
+    @Test
+    void statementsOutsideAnOpenBudgetAreIgnored() {
+        budget = new QueryBudget("AdminUserController#listUsers", 1, 1, true);
+
+        QueryBudget.record(SELECT_USER);
+        QueryBudget.record(SELECT_USER);
+
+        assertThat(budget.getStatements()).isZero();
+    }
+}
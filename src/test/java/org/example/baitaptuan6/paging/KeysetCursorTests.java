@@ -0,0 +1,51 @@
+package org.example.baitaptuan6.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetCursorTests {
+
+    private static final Sort SORT = Sort.by("createdAt", "title", "id");
+
+    @Test
+    void roundTripsKeysAndDirection() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123000000));
+        keys.put("title", "Hướng dẫn | phần 2");
+        keys.put("id", 42L);
+
+        ScrollPosition decoded = KeysetCursor.decode(KeysetCursor.encode(ScrollPosition.backward(keys), SORT), SORT);
+
+        assertThat(decoded).isInstanceOf(KeysetScrollPosition.class);
+        KeysetScrollPosition keyset = (KeysetScrollPosition) decoded;
+        assertThat(keyset.scrollsBackward()).isTrue();
+        assertThat(keyset.getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void malformedCursorStartsFromTheFirstPage() {
+        assertThat(KeysetCursor.decode("not-a-cursor!", SORT).isInitial()).isTrue();
+        assertThat(KeysetCursor.decode(null, SORT).isInitial()).isTrue();
+    }
+
+    @Test
+    void cursorFromAnotherSortStartsOver() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("title", "Video");
+        keys.put("id", 7L);
+        Sort sort = Sort.by(Sort.Direction.ASC, "title", "id");
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys), sort);
+
+        assertThat(KeysetCursor.decode(cursor, sort).isInitial()).isFalse();
+        assertThat(KeysetCursor.decode(cursor, Sort.by(Sort.Direction.DESC, "title", "id")).isInitial()).isTrue();
+        assertThat(KeysetCursor.decode(cursor, Sort.by(Sort.Direction.ASC, "createdAt", "id")).isInitial()).isTrue();
+    }
+}
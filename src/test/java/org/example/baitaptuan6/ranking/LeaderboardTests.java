@@ -0,0 +1,59 @@
+package org.example.baitaptuan6.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTests {
+
+    @Test
+    void keepsTheBestItemsWithinCapacity() {
+        Leaderboard board = new Leaderboard(3);
+        for (long id = 1; id <= 6; id++) {
+            board.set(id, id * 10);
+        }
+
+        assertThat(board.top(0, 10)).containsExactly(6L, 5L, 4L);
+        assertThat(board.top(1, 1)).containsExactly(5L);
+        assertThat(board.size()).isEqualTo(3);
+    }
+
+    @Test
+    void outsiderEntersWhenItsScoreGrows() {
+        Leaderboard board = new Leaderboard(2);
+        board.set(1, 100);
+        board.set(2, 50);
+        board.set(3, 10);
+
+        board.add(3, 60);
+
+        assertThat(board.top(0, 2)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void removingAMemberRefillsFromTheRemainingScores() {
+        Leaderboard board = new Leaderboard(2);
+        board.set(1, 100);
+        board.set(2, 50);
+        board.set(3, 10);
+
+        board.remove(1);
+
+        assertThat(board.top(0, 2)).containsExactly(2L, 3L);
+        assertThat(board.contains(1)).isFalse();
+    }
+
+    @Test
+    void ignoresIncrementsForUnknownIdsAndKeepsOrderWhenRescaled() {
+        Leaderboard board = new Leaderboard(3);
+        board.set(1, 8);
+        board.set(2, 4);
+        board.add(9, 1000);
+
+        board.rescale(0.25);
+        board.add(2, 2);
+
+        assertThat(board.contains(9)).isFalse();
+        assertThat(board.top(0, 3)).containsExactly(2L, 1L);
+    }
+}
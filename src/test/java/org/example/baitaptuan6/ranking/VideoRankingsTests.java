@@ -0,0 +1,53 @@
+package org.example.baitaptuan6.ranking;
+
+import org.example.baitaptuan6.entity.Video;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VideoRankingsTests {
+
+    @Test
+    void recentEventsOutrankOldOnesAcrossARescale() throws InterruptedException {
+        VideoRankings rankings = rankings(Duration.ofMillis(1), 1L, 2L, 3L);
+        rankings.recordViews(1L, 1000);
+        rankings.recordLikes(2L, 1);
+
+        // More than RENORMALIZE_AFTER half-lives, the next write moves the landmark
+        Thread.sleep(100);
+        rankings.recordViews(3L, 1);
+
+        assertThat(rankings.top(VideoRankings.Board.TRENDING, 0, 3)).containsExactly(3L, 1L, 2L);
+        assertThat(rankings.top(VideoRankings.Board.VIEWS, 0, 3)).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void likesWeighMoreThanViews() {
+        VideoRankings rankings = rankings(Duration.ofHours(6), 1L, 2L);
+        rankings.recordViews(1L, 4);
+        rankings.recordLikes(2L, 1);
+
+        assertThat(rankings.top(VideoRankings.Board.TRENDING, 0, 2)).containsExactly(2L, 1L);
+    }
+
+    // Rankings with the given active videos, no views or likes yet
+    private static VideoRankings rankings(Duration halfLife, Long... ids) {
+        VideoRankings rankings = new VideoRankings();
+        ReflectionTestUtils.setField(rankings, "capacity", 10);
+        ReflectionTestUtils.setField(rankings, "halfLife", halfLife);
+        ReflectionTestUtils.setField(rankings, "likeWeight", 5.0);
+        rankings.init();
+        for (Long id : ids) {
+            Video video = new Video();
+            video.setId(id);
+            video.setIsActive(true);
+            video.setViews(0L);
+            video.setLikes(0L);
+            rankings.onVideoChanged(video);
+        }
+        return rankings;
+    }
+}
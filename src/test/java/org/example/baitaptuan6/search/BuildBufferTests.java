@@ -0,0 +1,39 @@
+package org.example.baitaptuan6.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildBufferTests {
+
+    @Test
+    void updatesDuringTheBuildAreReplayedAfterIt() {
+        NgramIndex index = new NgramIndex();
+        BuildBuffer updates = new BuildBuffer();
+
+        // The update commits while the build still streams the old row
+        updates.apply(() -> index.put(1, "Tiêu đề mới"));
+        index.put(1, "Tiêu đề cũ");
+        assertThat(index.search("tieu de moi")).isEmpty();
+
+        updates.finish();
+        assertThat(index.search("tieu de moi")).containsExactly(1);
+        assertThat(index.search("tieu de cu")).isEmpty();
+    }
+
+    @Test
+    void updatesAfterTheBuildAreAppliedInOrder() {
+        List<String> applied = new ArrayList<>();
+        BuildBuffer updates = new BuildBuffer();
+        updates.apply(() -> applied.add("first"));
+        updates.apply(() -> applied.add("second"));
+        assertThat(applied).isEmpty();
+
+        updates.finish();
+        updates.apply(() -> applied.add("third"));
+        assertThat(applied).containsExactly("first", "second", "third");
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.baitaptuan6.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramIndexTests {
+
+    @Test
+    void matchesSubstringsIgnoringCaseAndDiacritics() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Hướng dẫn Spring Boot", "Bài học đầu tiên");
+        index.put(2, "Nấu ăn ngày Tết", null);
+        index.put(3, "Spring Data JPA", "hướng dẫn nâng cao");
+
+        assertThat(index.search("huong dan")).containsExactly(1, 3);
+        assertThat(index.search("SPRING")).containsExactly(1, 3);
+        assertThat(index.search("dau tien")).containsExactly(1);
+        assertThat(index.search("khong co")).isEmpty();
+        assertThat(index.search("ab")).isNull();
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisibleToSearch() {
+        NgramIndex index = new NgramIndex();
+        index.put(7, "Video cũ", null);
+        index.put(7, "Video mới", null);
+        index.put(8, "Video mới nhất", null);
+
+        assertThat(index.search("video cu")).isEmpty();
+        assertThat(index.search("video moi")).containsExactly(7, 8);
+
+        index.remove(7);
+        assertThat(index.search("video moi")).containsExactly(8);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keywordDoesNotMatchAcrossFields() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "abc", "def");
+
+        assertThat(index.search("cde")).isEmpty();
+        assertThat(index.search("bc")).isNull();
+    }
+
+    @Test
+    void idsBeyondIntRangeLeaveQueriesToTheDatabase() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Spring Boot", null);
+        index.put(3_000_000_000L, "Spring Data", null);
+        index.remove(3_000_000_000L);
+
+        assertThat(index.search("spring")).isNull();
+        assertThat(index.size()).isEqualTo(1);
+
+        index.clear();
+        index.put(1, "Spring Boot", null);
+        assertThat(index.search("spring")).containsExactly(1);
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.baitaptuan6.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTests {
+
+    @Test
+    void matchesTheStartOfAnyWordIgnoringCaseAndDiacritics() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put(1, "Nguyễn Văn An", "nvan", "Nguyễn Văn An");
+        index.put(2, "Trần Thị Ánh", "tranh", "Trần Thị Ánh");
+        index.put(3, "Lê Đức Anh", "leduc", "Lê Đức Anh");
+
+        assertThat(index.search("an", 10)).containsExactly("Nguyễn Văn An", "Trần Thị Ánh", "Lê Đức Anh");
+        assertThat(index.search("ANH", 10)).containsExactly("Trần Thị Ánh", "Lê Đức Anh");
+        assertThat(index.search("duc  anh", 10)).containsExactly("Lê Đức Anh");
+        assertThat(index.search("tran", 10)).containsExactly("Trần Thị Ánh");
+        assertThat(index.search("uyen", 10)).isEmpty();
+    }
+
+    @Test
+    void returnsEachEntryOnceUpToTheLimit() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put(1, "anan", "an an", "anan");
+        index.put(2, "anh", "anh");
+        index.put(3, "ana", "ana");
+
+        assertThat(index.search("an", 10)).containsExactly("anan", "ana", "anh");
+        assertThat(index.search("an", 2)).hasSize(2);
+        assertThat(index.search("", 10)).hasSize(3);
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisibleToSearch() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put(7, "Phim cũ", "Phim cũ");
+        index.put(7, "Ca nhạc", "Ca nhạc");
+
+        assertThat(index.search("phim", 10)).isEmpty();
+        assertThat(index.search("nhac", 10)).containsExactly("Ca nhạc");
+        assertThat(index.get(7)).isEqualTo("Ca nhạc");
+
+        index.remove(7);
+        assertThat(index.search("nhac", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.baitaptuan6.service;
+
+import org.example.baitaptuan6.repository.CategoryRepository;
+import org.example.baitaptuan6.repository.UserRepository;
+import org.example.baitaptuan6.repository.VideoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActiveCountersTests {
+
+    private final VideoRepository videoRepository = mock(VideoRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ActiveCounters counters = new ActiveCounters();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(counters, "videoRepository", videoRepository);
+        ReflectionTestUtils.setField(counters, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(counters, "userRepository", userRepository);
+        when(videoRepository.countByIsActiveTrue()).thenReturn(10L);
+        when(categoryRepository.countByIsActiveTrue()).thenReturn(3L);
+        when(userRepository.countByIsActiveTrue()).thenReturn(5L);
+    }
+
+    @Test
+    void loadsOnceAndThenServesFromMemory() {
+        assertThat(counters.get(ActiveCounters.Kind.VIDEOS)).isEqualTo(10L);
+        assertThat(counters.get(ActiveCounters.Kind.CATEGORIES)).isEqualTo(3L);
+        assertThat(counters.get(ActiveCounters.Kind.USERS)).isEqualTo(5L);
+
+        verify(videoRepository, times(1)).countByIsActiveTrue();
+    }
+
+    @Test
+    void appliesOnlyRealTransitions() {
+        counters.reconcile();
+
+        counters.onActiveChanged(ActiveCounters.Kind.VIDEOS, false, true);
+        counters.onActiveChanged(ActiveCounters.Kind.VIDEOS, true, true);
+        counters.onActiveChanged(ActiveCounters.Kind.USERS, true, false);
+        counters.onActiveChanged(ActiveCounters.Kind.USERS, false, false);
+        counters.adjust(ActiveCounters.Kind.CATEGORIES, -2);
+
+        assertThat(counters.get(ActiveCounters.Kind.VIDEOS)).isEqualTo(11L);
+        assertThat(counters.get(ActiveCounters.Kind.USERS)).isEqualTo(4L);
+        assertThat(counters.get(ActiveCounters.Kind.CATEGORIES)).isEqualTo(1L);
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        counters.reconcile();
+        counters.onActiveChanged(ActiveCounters.Kind.VIDEOS, false, true);
+
+        when(videoRepository.countByIsActiveTrue()).thenReturn(42L);
+        counters.reconcile();
+
+        assertThat(counters.get(ActiveCounters.Kind.VIDEOS)).isEqualTo(42L);
+    }
+}